@@ -0,0 +1,78 @@
+package com.epavfra.task.jmh;
+
+import com.epavfra.task.dto.AdditionalPhoneNumberDto;
+import com.epavfra.task.dto.PersonDto;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/** Bean Validation cost of the request bodies, for both valid and invalid input. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DtoValidationBenchmark {
+
+  @Param({"1", "10", "100"})
+  private int contacts;
+
+  private ValidatorFactory validatorFactory;
+  private Validator validator;
+  private PersonDto personDto;
+  private PersonDto invalidPersonDto;
+  private AdditionalPhoneNumberDto phoneNumberDto;
+
+  @Setup
+  public void setUp() {
+    validatorFactory = Validation.buildDefaultValidatorFactory();
+    validator = validatorFactory.getValidator();
+    personDto = Fixtures.personDto(contacts);
+    invalidPersonDto = Fixtures.personDto(contacts);
+    invalidPersonDto.setPin("1234");
+    invalidPersonDto.getEmailAddresses().add("not-an-email");
+    phoneNumberDto = new AdditionalPhoneNumberDto(Fixtures.phoneNumbers(contacts));
+  }
+
+  @TearDown
+  public void tearDown() {
+    validatorFactory.close();
+  }
+
+  @Benchmark
+  public Set<ConstraintViolation<PersonDto>> validPersonDto() {
+    return validator.validate(personDto);
+  }
+
+  @Benchmark
+  public Set<ConstraintViolation<PersonDto>> invalidPersonDto() {
+    return validator.validate(invalidPersonDto);
+  }
+
+  @Benchmark
+  public Set<ConstraintViolation<AdditionalPhoneNumberDto>> additionalPhoneNumbers() {
+    return validator.validate(phoneNumberDto);
+  }
+
+  @Benchmark
+  public Set<ConstraintViolation<AdditionalPhoneNumberDto>> emptyPhoneNumbers() {
+    return validator.validate(new AdditionalPhoneNumberDto(List.of()));
+  }
+}
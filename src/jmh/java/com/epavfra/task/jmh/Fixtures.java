@@ -0,0 +1,123 @@
+package com.epavfra.task.jmh;
+
+import com.epavfra.task.dto.PersonDto;
+import com.epavfra.task.mapper.PersonRowMapper;
+import com.epavfra.task.model.Person;
+import com.epavfra.task.model.Sex;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TupleElement;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.SequencedMap;
+
+/** Test data shared by the benchmarks: a person with {@code contacts} emails and phone numbers. */
+final class Fixtures {
+
+  private Fixtures() {}
+
+  static PersonDto personDto(final int contacts) {
+    return new PersonDto.Builder("John", "Smith", "12345678901", Sex.MALE)
+        .addEmailAddresses(emailAddresses(contacts))
+        .addPhoneNumbers(phoneNumbers(contacts))
+        .build();
+  }
+
+  static Person person(final int contacts) {
+    return new Person.Builder("John", "Smith", "12345678901", Sex.MALE)
+        .addEmailAddresses(emailAddresses(contacts))
+        .addPhoneNumbers(phoneNumbers(contacts))
+        .build();
+  }
+
+  /** A projected person row as {@code PersonProjectionRepository} selects it. */
+  static Tuple row() {
+    SequencedMap<String, Object> values = new LinkedHashMap<>();
+    values.put("id", 1L);
+    values.put("version", 0);
+    values.put(PersonRowMapper.NAME, "John");
+    values.put(PersonRowMapper.SURNAME, "Smith");
+    values.put(PersonRowMapper.PIN, "12345678901");
+    values.put(PersonRowMapper.SEX, Sex.MALE);
+    return new MapTuple(values);
+  }
+
+  static List<String> emailAddresses(final int count) {
+    List<String> emailAddresses = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      emailAddresses.add("john.smith" + i + "@example.com");
+    }
+    return emailAddresses;
+  }
+
+  static List<String> phoneNumbers(final int count) {
+    List<String> phoneNumbers = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      phoneNumbers.add(String.format("+385-%09d", i));
+    }
+    return phoneNumbers;
+  }
+
+  /** A tuple over selected values in select order, keyed by their aliases. */
+  private record MapTuple(SequencedMap<String, Object> values) implements Tuple {
+
+    @Override
+    public <X> X get(final String alias, final Class<X> type) {
+      return type.cast(get(alias));
+    }
+
+    @Override
+    public Object get(final String alias) {
+      if (!values.containsKey(alias)) {
+        throw new IllegalArgumentException("Unknown alias " + alias);
+      }
+      return values.get(alias);
+    }
+
+    @Override
+    public <X> X get(final TupleElement<X> tupleElement) {
+      return get(tupleElement.getAlias(), tupleElement.getJavaType());
+    }
+
+    @Override
+    public <X> X get(final int i, final Class<X> type) {
+      return type.cast(get(i));
+    }
+
+    @Override
+    public Object get(final int i) {
+      if (i < 0 || i >= values.size()) {
+        throw new IllegalArgumentException("No element at position " + i);
+      }
+      return toArray()[i];
+    }
+
+    @Override
+    public Object[] toArray() {
+      return values.sequencedValues().toArray();
+    }
+
+    @Override
+    public List<TupleElement<?>> getElements() {
+      List<TupleElement<?>> elements = new ArrayList<>(values.size());
+      values.forEach(
+          (alias, value) ->
+              elements.add(new Element<>(alias, value == null ? Object.class : value.getClass())));
+      return elements;
+    }
+  }
+
+  private record Element<X>(String alias, Class<? extends X> javaType)
+      implements TupleElement<X> {
+
+    @Override
+    public Class<? extends X> getJavaType() {
+      return javaType;
+    }
+
+    @Override
+    public String getAlias() {
+      return alias;
+    }
+  }
+}
@@ -0,0 +1,72 @@
+package com.epavfra.task.jmh;
+
+import com.epavfra.task.dto.PersonDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+/**
+ * Round trip of {@link PersonDto} in each format the API negotiates, with the same defaults
+ * Spring MVC applies. The encoded payload size of every format is logged during setup.
+ */
+@Slf4j
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PersonDtoSerializationBenchmark {
+
+  @Param({"json", "cbor", "smile"})
+  private String format;
+
+  @Param({"0", "10", "100"})
+  private int contacts;
+
+  private ObjectWriter writer;
+  private ObjectReader reader;
+  private PersonDto personDto;
+  private byte[] payload;
+
+  @Setup
+  public void setUp() throws IOException {
+    ObjectMapper objectMapper =
+        switch (format) {
+          case "json" -> Jackson2ObjectMapperBuilder.json().build();
+          case "cbor" -> Jackson2ObjectMapperBuilder.cbor().build();
+          case "smile" -> Jackson2ObjectMapperBuilder.smile().build();
+          default -> throw new IllegalArgumentException("Unknown format " + format);
+        };
+    writer = objectMapper.writerFor(PersonDto.class);
+    reader = objectMapper.readerFor(PersonDto.class);
+    personDto = Fixtures.personDto(contacts);
+    payload = writer.writeValueAsBytes(personDto);
+    log.info("Payload format={} contacts={} bytes={}", format, contacts, payload.length);
+  }
+
+  @Benchmark
+  public byte[] serialize() throws IOException {
+    return writer.writeValueAsBytes(personDto);
+  }
+
+  @Benchmark
+  public PersonDto deserialize() throws IOException {
+    return reader.readValue(payload);
+  }
+}
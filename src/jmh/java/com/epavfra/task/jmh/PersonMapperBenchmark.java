@@ -0,0 +1,69 @@
+package com.epavfra.task.jmh;
+
+import com.epavfra.task.dto.PersonDto;
+import com.epavfra.task.mapper.PersonMapper;
+import com.epavfra.task.mapper.PersonRowMapper;
+import com.epavfra.task.model.Person;
+import jakarta.persistence.Tuple;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares mapping a loaded entity with mapping a projected row, which takes the contact sets over
+ * instead of copying them. Compare {@code gc.alloc.rate.norm} of {@code toDto} and {@code
+ * rowToDto}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PersonMapperBenchmark {
+
+  /** Number of email addresses and, separately, phone numbers on the mapped person. */
+  @Param({"0", "10", "100", "1000"})
+  private int contacts;
+
+  private Person person;
+  private PersonDto personDto;
+  private Tuple row;
+  private Set<String> emailAddresses;
+  private Set<String> phoneNumbers;
+
+  @Setup
+  public void setUp() {
+    person = Fixtures.person(contacts);
+    personDto = Fixtures.personDto(contacts);
+    row = Fixtures.row();
+    emailAddresses = new HashSet<>(Fixtures.emailAddresses(contacts));
+    phoneNumbers = new HashSet<>(Fixtures.phoneNumbers(contacts));
+  }
+
+  @Benchmark
+  public PersonDto toDto() {
+    return PersonMapper.INSTANCE.toDto(person);
+  }
+
+  @Benchmark
+  public PersonDto rowToDto() {
+    return PersonRowMapper.INSTANCE.toDto(row, emailAddresses, phoneNumbers);
+  }
+
+  @Benchmark
+  public Person toEntity() {
+    return PersonMapper.INSTANCE.toEntity(personDto);
+  }
+}
@@ -0,0 +1,82 @@
+package com.epavfra.task.jmh;
+
+import com.epavfra.task.model.Person;
+import com.epavfra.task.utils.specification.MatchMode;
+import com.epavfra.task.utils.specification.PersonSpecification;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import java.util.concurrent.TimeUnit;
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Configuration;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures building the filter predicate, i.e. the work done per request before any SQL is
+ * rendered. Runs against a Hibernate metamodel bootstrapped over an in-memory H2 database.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PersonSpecificationBenchmark {
+
+  @Param({"CONTAINS", "PREFIX"})
+  private MatchMode matchMode;
+
+  private SessionFactory sessionFactory;
+  private CriteriaBuilder criteriaBuilder;
+
+  @Setup
+  public void setUp() {
+    sessionFactory =
+        new Configuration()
+            .addAnnotatedClass(Person.class)
+            .setProperty(AvailableSettings.JAKARTA_JDBC_URL, "jdbc:h2:mem:jmh;MODE=PostgreSQL")
+            .setProperty(AvailableSettings.JAKARTA_HBM2DDL_DATABASE_ACTION, "none")
+            .buildSessionFactory();
+    criteriaBuilder = sessionFactory.getCriteriaBuilder();
+  }
+
+  @TearDown
+  public void tearDown() {
+    sessionFactory.close();
+  }
+
+  @Benchmark
+  public Predicate noCriteria() {
+    return toPredicate(null, null, null);
+  }
+
+  @Benchmark
+  public Predicate nameOnly() {
+    return toPredicate("john", null, null);
+  }
+
+  @Benchmark
+  public Predicate allCriteria() {
+    return toPredicate("jo_hn", "smi%th", "male");
+  }
+
+  private Predicate toPredicate(final String name, final String surname, final String sex) {
+    CriteriaQuery<Person> query = criteriaBuilder.createQuery(Person.class);
+    Root<Person> root = query.from(Person.class);
+    return PersonSpecification.filterByCriteria(name, surname, sex, matchMode)
+        .toPredicate(root, query, criteriaBuilder);
+  }
+}
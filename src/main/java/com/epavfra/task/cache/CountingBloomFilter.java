@@ -0,0 +1,119 @@
+package com.epavfra.task.cache;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Counting Bloom filter over {@code long} keys with 4-bit counters packed sixteen to a word, so
+ * keys can be removed again. {@link #mightContain} never returns {@code false} for a key that was
+ * added and not removed; it returns {@code true} for an absent key with roughly the configured
+ * false-positive probability. A counter that reaches 15 stays saturated and is never decremented,
+ * which can only cost false positives. Thread-safe without locking.
+ */
+final class CountingBloomFilter {
+
+  private static final int COUNTER_BITS = 4;
+  private static final int COUNTERS_PER_WORD = Long.SIZE / COUNTER_BITS;
+  private static final long MAX_COUNT = (1L << COUNTER_BITS) - 1;
+
+  private final AtomicLongArray words;
+  private final int counters;
+  private final int hashFunctions;
+
+  CountingBloomFilter(final long expectedInsertions, final double falsePositiveProbability) {
+    if (expectedInsertions < 1 || falsePositiveProbability <= 0 || falsePositiveProbability >= 1) {
+      throw new IllegalArgumentException(
+          "Expected insertions must be positive and the false-positive probability in (0, 1)");
+    }
+    double optimalCounters =
+        -expectedInsertions * Math.log(falsePositiveProbability) / (Math.log(2) * Math.log(2));
+    this.counters =
+        (int) Math.min(Integer.MAX_VALUE - COUNTERS_PER_WORD, Math.ceil(optimalCounters));
+    this.hashFunctions =
+        Math.max(1, (int) Math.round((double) counters / expectedInsertions * Math.log(2)));
+    this.words = new AtomicLongArray((counters + COUNTERS_PER_WORD - 1) / COUNTERS_PER_WORD);
+  }
+
+  void add(final long key) {
+    long hash = mix(key);
+    for (int i = 0; i < hashFunctions; i++) {
+      increment(index(hash, i));
+    }
+  }
+
+  /** Removes a key added earlier; keys the filter has definitely not seen are ignored. */
+  void remove(final long key) {
+    if (!mightContain(key)) {
+      return;
+    }
+    long hash = mix(key);
+    for (int i = 0; i < hashFunctions; i++) {
+      decrement(index(hash, i));
+    }
+  }
+
+  boolean mightContain(final long key) {
+    long hash = mix(key);
+    for (int i = 0; i < hashFunctions; i++) {
+      if (count(index(hash, i)) == 0) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /** Memory taken by the counters, in bytes. */
+  long sizeInBytes() {
+    return (long) words.length() * Long.BYTES;
+  }
+
+  private long count(final int index) {
+    long word = words.get(index / COUNTERS_PER_WORD);
+    return (word >>> shift(index)) & MAX_COUNT;
+  }
+
+  private void increment(final int index) {
+    int wordIndex = index / COUNTERS_PER_WORD;
+    int shift = shift(index);
+    long word;
+    do {
+      word = words.get(wordIndex);
+      if (((word >>> shift) & MAX_COUNT) == MAX_COUNT) {
+        return;
+      }
+    } while (!words.compareAndSet(wordIndex, word, word + (1L << shift)));
+  }
+
+  private void decrement(final int index) {
+    int wordIndex = index / COUNTERS_PER_WORD;
+    int shift = shift(index);
+    long word;
+    do {
+      word = words.get(wordIndex);
+      long count = (word >>> shift) & MAX_COUNT;
+      if (count == 0 || count == MAX_COUNT) {
+        return;
+      }
+    } while (!words.compareAndSet(wordIndex, word, word - (1L << shift)));
+  }
+
+  /** Double hashing: the i-th index is derived from the two halves of one 64-bit hash. */
+  private int index(final long hash, final int i) {
+    int combined = (int) hash + i * (int) (hash >>> 32);
+    return (combined & Integer.MAX_VALUE) % counters;
+  }
+
+  private static int shift(final int index) {
+    return (index % COUNTERS_PER_WORD) * COUNTER_BITS;
+  }
+
+  /** MurmurHash3 finalizer; spreads sequential keys such as PINs over all bits. */
+  private static long mix(final long key) {
+    long hash = key;
+    hash ^= hash >>> 33;
+    hash *= 0xff51afd7ed558ccdL;
+    hash ^= hash >>> 33;
+    hash *= 0xc4ceb9fe1a85ec53L;
+    hash ^= hash >>> 33;
+    return hash;
+  }
+}
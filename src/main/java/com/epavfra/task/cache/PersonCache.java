@@ -0,0 +1,131 @@
+package com.epavfra.task.cache;
+
+import com.epavfra.task.dto.PersonDto;
+import com.epavfra.task.model.Sex;
+import com.epavfra.task.utils.transaction.AfterCommit;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Optional;
+import java.util.Set;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Bounded read-through cache of mapped persons keyed by id. Every entry carries the entity
+ * version it was mapped from and an entry is only ever replaced by a newer version, so a reader
+ * that loaded a person before a concurrent write cannot put the stale copy back afterwards.
+ * Deletions leave a tombstone that outranks every version until it expires. Entries are immutable
+ * copies, and every read returns a new {@link PersonDto}, so a caller that changes its DTO cannot
+ * change what later readers see.
+ *
+ * <p>Hit, miss and eviction statistics are published as the {@code cache.*} metrics tagged with
+ * {@code cache=persons}.
+ */
+@Component
+public class PersonCache {
+
+  public static final String CACHE_NAME = "persons";
+
+  private static final int TOMBSTONE_VERSION = Integer.MAX_VALUE;
+  private static final CachedPerson TOMBSTONE =
+      new CachedPerson(TOMBSTONE_VERSION, null, null, null, null, Set.of(), Set.of());
+
+  private final Cache<Long, CachedPerson> cache;
+
+  public PersonCache(
+      @Value("${person.cache.maximum-size:10000}") final long maximumSize,
+      @Value("${person.cache.time-to-live:PT10M}") final Duration timeToLive,
+      final MeterRegistry meterRegistry) {
+    this.cache =
+        Caffeine.newBuilder()
+            .maximumSize(maximumSize)
+            .expireAfterWrite(timeToLive)
+            .recordStats()
+            .build();
+    CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+  }
+
+  public Optional<PersonDto> get(final Long id) {
+    CachedPerson cached = cache.getIfPresent(id);
+    if (cached == null || cached.isTombstone()) {
+      return Optional.empty();
+    }
+    return Optional.of(cached.toDto());
+  }
+
+  /** Version the cached person was mapped from, if a live entry is cached. */
+  public Optional<Integer> getVersion(final Long id) {
+    CachedPerson cached = cache.getIfPresent(id);
+    if (cached == null || cached.isTombstone()) {
+      return Optional.empty();
+    }
+    return Optional.of(cached.version());
+  }
+
+  /** The cached person if it was mapped from exactly this version. */
+  public Optional<PersonDto> get(final Long id, final int version) {
+    CachedPerson cached = cache.getIfPresent(id);
+    if (cached == null || cached.version() != version) {
+      return Optional.empty();
+    }
+    return Optional.of(cached.toDto());
+  }
+
+  /** Caches the person unless a newer version or a deletion of it is already cached. */
+  public void put(final Long id, final Integer version, final PersonDto person) {
+    CachedPerson candidate = CachedPerson.of(version == null ? -1 : version, person);
+    cache
+        .asMap()
+        .merge(id, candidate, (current, next) -> next.version() > current.version() ? next : current);
+  }
+
+  /** Same as {@link #put} but deferred until the surrounding transaction commits. */
+  public void putAfterCommit(final Long id, final Integer version, final PersonDto person) {
+    AfterCommit.run(() -> put(id, version, person));
+  }
+
+  /** Replaces the entry with a tombstone once the surrounding transaction commits. */
+  public void evictDeletedAfterCommit(final Long id) {
+    AfterCommit.run(() -> cache.put(id, TOMBSTONE));
+  }
+
+  private record CachedPerson(
+      int version,
+      String name,
+      String surname,
+      String pin,
+      Sex sex,
+      Set<String> emailAddresses,
+      Set<String> phoneNumbers) {
+
+    static CachedPerson of(final int version, final PersonDto person) {
+      return new CachedPerson(
+          version,
+          person.getName(),
+          person.getSurname(),
+          person.getPin(),
+          person.getSex(),
+          copyOf(person.getEmailAddresses()),
+          copyOf(person.getPhoneNumbers()));
+    }
+
+    private static Set<String> copyOf(final Collection<String> values) {
+      return values == null ? Set.of() : Set.copyOf(values);
+    }
+
+    PersonDto toDto() {
+      return new PersonDto.Builder(name, surname, pin, sex)
+          .addEmailAddresses(emailAddresses)
+          .addPhoneNumbers(phoneNumbers)
+          .build();
+    }
+
+    boolean isTombstone() {
+      return version == TOMBSTONE_VERSION;
+    }
+  }
+}
@@ -0,0 +1,98 @@
+package com.epavfra.task.cache;
+
+import com.epavfra.task.repository.PersonRepository;
+import com.epavfra.task.utils.transaction.AfterCommit;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * In-memory membership filter over the PINs of all persons. A {@code false} from {@link
+ * #mightContain} means the PIN is certainly free, so creates skip the duplicate check; a {@code
+ * true} still has to be confirmed against the database. Until the filter has been warmed from the
+ * person table every PIN is reported as possibly taken.
+ *
+ * <p>The filter only learns PINs from its warm-up and from commits made through this instance,
+ * so it misses persons created by other instances or written outside the service. It is
+ * therefore only a hint for creates, where the unique constraint on the PIN column stays the
+ * final word, and must not be used to answer reads. Lookups are counted as {@code person.pin_filter}
+ * tagged with {@code result=absent|maybe}.
+ */
+@Slf4j
+@Component
+public class PersonPinFilter {
+
+  private final CountingBloomFilter filter;
+  private final PersonRepository personRepository;
+  private final TransactionTemplate readOnlyTransactionTemplate;
+  private final Counter absent;
+  private final Counter maybe;
+  private volatile boolean warm;
+
+  public PersonPinFilter(
+      @Value("${person.pin-filter.expected-insertions:1000000}") final long expectedInsertions,
+      @Value("${person.pin-filter.false-positive-probability:0.01}")
+          final double falsePositiveProbability,
+      final PersonRepository personRepository,
+      final PlatformTransactionManager transactionManager,
+      final MeterRegistry meterRegistry) {
+    this.filter = new CountingBloomFilter(expectedInsertions, falsePositiveProbability);
+    this.personRepository = personRepository;
+    this.readOnlyTransactionTemplate = new TransactionTemplate(transactionManager);
+    this.readOnlyTransactionTemplate.setReadOnly(true);
+    this.absent = meterRegistry.counter("person.pin_filter", "result", "absent");
+    this.maybe = meterRegistry.counter("person.pin_filter", "result", "maybe");
+  }
+
+  public boolean mightContain(final String pin) {
+    boolean mightContain = !warm || filter.mightContain(key(pin));
+    (mightContain ? maybe : absent).increment();
+    return mightContain;
+  }
+
+  public void addAfterCommit(final String pin) {
+    AfterCommit.run(() -> filter.add(key(pin)));
+  }
+
+  public void removeAfterCommit(final String pin) {
+    AfterCommit.run(() -> filter.remove(key(pin)));
+  }
+
+  /**
+   * Loads every stored PIN. Creates that commit meanwhile are added by their own callbacks, so
+   * nothing is missed; a PIN added twice only makes a later removal leave a false positive.
+   */
+  @EventListener(ApplicationReadyEvent.class)
+  public void warmUp() {
+    AtomicLong loaded = new AtomicLong();
+    readOnlyTransactionTemplate.executeWithoutResult(
+        status -> {
+          try (Stream<String> pins = personRepository.streamAllPins()) {
+            pins.forEach(
+                pin -> {
+                  filter.add(key(pin));
+                  loaded.incrementAndGet();
+                });
+          }
+        });
+    warm = true;
+    log.info(
+        "PIN filter warmed with {} PINs ({} KiB)", loaded.get(), filter.sizeInBytes() / 1024);
+  }
+
+  /** An 11-digit PIN fits a long as is; anything else is reduced to its string hash. */
+  static long key(final String pin) {
+    if (pin.length() <= 18 && pin.chars().allMatch(Character::isDigit) && !pin.isEmpty()) {
+      return Long.parseLong(pin);
+    }
+    return pin.hashCode();
+  }
+}
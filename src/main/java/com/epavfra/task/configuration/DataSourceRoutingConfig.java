@@ -0,0 +1,92 @@
+package com.epavfra.task.configuration;
+
+import com.epavfra.task.datasource.ReplicaLagMonitor;
+import com.epavfra.task.datasource.ReplicaRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import javax.sql.DataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+/**
+ * Replaces the single auto-configured pool with a primary pool plus read replicas when {@code
+ * person.datasource.replica-urls} is set. Read-only transactions are routed by {@link
+ * ReplicaRoutingDataSource}; everything else uses the primary. The connection is only fetched on
+ * its first statement, when the transaction's read-only flag is already known.
+ */
+@Configuration
+@ConditionalOnProperty(DataSourceRoutingConfig.REPLICA_URLS_PROPERTY)
+public class DataSourceRoutingConfig {
+
+  public static final String REPLICA_URLS_PROPERTY = "person.datasource.replica-urls";
+
+  @Bean
+  @ConfigurationProperties("spring.datasource.hikari")
+  public HikariDataSource primaryDataSource(final DataSourceProperties properties) {
+    HikariDataSource dataSource =
+        properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    dataSource.setPoolName("primary");
+    return dataSource;
+  }
+
+  @Bean
+  public ReplicaLagMonitor replicaLagMonitor(
+      final DataSourceProperties properties,
+      final HikariDataSource primaryDataSource,
+      final MeterRegistry meterRegistry,
+      @Value("${" + REPLICA_URLS_PROPERTY + "}") final List<String> replicaUrls,
+      @Value("${person.datasource.replica-username:${spring.datasource.username:}}")
+          final String username,
+      @Value("${person.datasource.replica-password:${spring.datasource.password:}}")
+          final String password,
+      @Value("${person.datasource.replica-lag-query:}") final String lagQuery,
+      @Value("${person.datasource.max-replica-lag:PT5S}") final Duration maxLag,
+      @Value("${person.datasource.replica-lag-check-interval:PT5S}") final Duration checkInterval) {
+    List<HikariDataSource> replicas = new ArrayList<>(replicaUrls.size());
+    for (int i = 0; i < replicaUrls.size(); i++) {
+      HikariDataSource replica =
+          DataSourceBuilder.create()
+              .type(HikariDataSource.class)
+              .driverClassName(properties.determineDriverClassName())
+              .url(replicaUrls.get(i).trim())
+              .username(username)
+              .password(password)
+              .build();
+      replica.setPoolName("replica-" + i);
+      replica.setMaximumPoolSize(primaryDataSource.getMaximumPoolSize());
+      replica.setConnectionTimeout(primaryDataSource.getConnectionTimeout());
+      replica.setReadOnly(true);
+      replica.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+      replicas.add(replica);
+    }
+    return new ReplicaLagMonitor(
+        replicas,
+        lagQuery.isBlank() ? ReplicaLagMonitor.POSTGRESQL_LAG_QUERY : lagQuery,
+        maxLag,
+        checkInterval,
+        meterRegistry);
+  }
+
+  @Bean
+  @Primary
+  public DataSource dataSource(
+      final HikariDataSource primaryDataSource,
+      final ReplicaLagMonitor replicaLagMonitor,
+      final MeterRegistry meterRegistry) {
+    LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(primaryDataSource);
+    dataSource.setReadOnlyDataSource(
+        new ReplicaRoutingDataSource(primaryDataSource, replicaLagMonitor, meterRegistry));
+    return dataSource;
+  }
+}
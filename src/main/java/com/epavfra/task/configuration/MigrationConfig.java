@@ -0,0 +1,25 @@
+package com.epavfra.task.configuration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Decides at runtime whether Flyway migrates on startup. {@code spring.flyway.enabled} is a bean
+ * condition and is fixed at build time in AOT mode, so the CDS training run, which has no
+ * database, turns migrations off with {@code person.flyway.migrate-on-startup=false} instead.
+ */
+@Configuration
+public class MigrationConfig {
+
+  @Bean
+  public FlywayMigrationStrategy flywayMigrationStrategy(
+      @Value("${person.flyway.migrate-on-startup:true}") final boolean migrateOnStartup) {
+    return flyway -> {
+      if (migrateOnStartup) {
+        flyway.migrate();
+      }
+    };
+  }
+}
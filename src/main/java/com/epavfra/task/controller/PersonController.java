@@ -2,18 +2,34 @@ package com.epavfra.task.controller;
 
 import com.epavfra.task.dto.AdditionalEmailRequestDto;
 import com.epavfra.task.dto.AdditionalPhoneNumberDto;
+import com.epavfra.task.dto.BatchCreateResultDto;
+import com.epavfra.task.dto.PersonAggregatesDto;
 import com.epavfra.task.dto.PersonDto;
+import com.epavfra.task.dto.PersonPageDto;
 import com.epavfra.task.exception.PersonNotFoundException;
 import com.epavfra.task.service.PersonService;
+import com.epavfra.task.service.PersonService.VersionedPersons;
 import com.epavfra.task.utils.constants.ApiPaths;
+import com.epavfra.task.utils.specification.ContactMatchMode;
+import com.epavfra.task.utils.specification.MatchMode;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.util.Collection;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -21,30 +37,49 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
 @Slf4j
 @RequestMapping(ApiPaths.PERSONS_PATH)
-@Tag(name = "Person API", description = "Operations pertaining to persons")
+@Tag(
+    name = "Person API",
+    description =
+        "Operations pertaining to persons. Besides JSON, persons can be sent and received as CBOR "
+            + "(application/cbor) or Smile (application/x-jackson-smile), selected by the "
+            + "Content-Type and Accept headers.")
 public class PersonController {
 
+  private static final int EXPORT_FLUSH_INTERVAL = 500;
+  private static final int EXPORT_GZIP_BUFFER_SIZE = 64 * 1024;
+
   private final PersonService personService;
+  private final ObjectMapper objectMapper;
 
-  public PersonController(final PersonService personService) {
+  public PersonController(final PersonService personService, final ObjectMapper objectMapper) {
     this.personService = personService;
+    this.objectMapper = objectMapper;
   }
 
   @Operation(
       summary = "Get all persons",
       description =
           "Retrieves a list of persons. Optional filters can be applied using query parameters: sex, name, and surname. "
+              + "Name and surname match as a substring by default, or as a prefix with match=PREFIX. "
+              + "The response carries a weak ETag of the matching persons' versions; send it "
+              + "back in If-None-Match to get a 304 when none of them changed. "
               + "Global exception handling will return a 500 error for unexpected issues.",
       responses = {
         @ApiResponse(
             responseCode = "200",
             description = "Successfully retrieved the list of persons"),
+        @ApiResponse(
+            responseCode = "304",
+            description = "The matching persons did not change since the given ETag"),
         @ApiResponse(
             responseCode = "500",
             description = "Unexpected error - handled by global exception handler")
@@ -57,18 +92,146 @@ public class PersonController {
           final String name,
       @Parameter(description = "Filter by surname", required = false)
           @RequestParam(required = false)
-          final String surname) {
-    Collection<PersonDto> persons = personService.filterPersons(name, surname, sex);
-    return ResponseEntity.ok(persons);
+          final String surname,
+      @Parameter(description = "How name and surname are matched", required = false)
+          @RequestParam(defaultValue = "CONTAINS")
+          final MatchMode match,
+      final WebRequest webRequest) {
+    if (webRequest.getHeader(HttpHeaders.IF_NONE_MATCH) != null) {
+      String eTag = weakETag(personService.getPersonsVersionTag(name, surname, sex, match));
+      if (webRequest.checkNotModified(eTag)) {
+        return notModified(eTag);
+      }
+    }
+    VersionedPersons persons =
+        personService.filterPersonsWithVersionTag(name, surname, sex, match);
+    return ResponseEntity.ok()
+        .eTag(weakETag(persons.versionTag()))
+        .cacheControl(CacheControl.noCache())
+        .varyBy(HttpHeaders.ACCEPT)
+        .body(persons.persons());
+  }
+
+  @Operation(
+      summary = "Get a page of persons",
+      description =
+          "Retrieves persons ordered by ID using keyset pagination. Pass the returned next cursor "
+              + "to fetch the following page; the cost of a page does not depend on its depth. "
+              + "Optional filters: sex, name, and surname.",
+      responses = {
+        @ApiResponse(responseCode = "200", description = "Successfully retrieved the page"),
+        @ApiResponse(
+            responseCode = "400",
+            description = "Invalid cursor or limit - handled by global exception handler"),
+        @ApiResponse(
+            responseCode = "500",
+            description = "Unexpected error - handled by global exception handler")
+      })
+  @GetMapping(ApiPaths.PERSONS_PAGE_PATH_SUFFIX)
+  public ResponseEntity<PersonPageDto> getPersonsPage(
+      @Parameter(description = "Filter by sex", required = false) @RequestParam(required = false)
+          final String sex,
+      @Parameter(description = "Filter by name", required = false) @RequestParam(required = false)
+          final String name,
+      @Parameter(description = "Filter by surname", required = false)
+          @RequestParam(required = false)
+          final String surname,
+      @Parameter(description = "How name and surname are matched", required = false)
+          @RequestParam(defaultValue = "CONTAINS")
+          final MatchMode match,
+      @Parameter(description = "Cursor returned by the previous page", required = false)
+          @RequestParam(required = false)
+          final String next,
+      @Parameter(description = "Maximum number of persons in the page (1-500)", required = false)
+          @RequestParam(defaultValue = "50")
+          final int limit) {
+    PersonPageDto page = personService.filterPersonsPage(name, surname, sex, match, next, limit);
+    return ResponseEntity.ok(page);
+  }
+
+  @Operation(
+      summary = "Count persons by facet",
+      description =
+          "Counts the persons matching the optional filters (sex, name, surname) grouped by sex, "
+              + "by upper-cased surname prefix and by number of contacts, all computed in the "
+              + "database. With estimate=true and no filters, only the total is returned, read "
+              + "from the database's table statistics instead of counting rows.",
+      responses = {
+        @ApiResponse(responseCode = "200", description = "Successfully counted the persons"),
+        @ApiResponse(
+            responseCode = "400",
+            description = "Invalid prefix length - handled by global exception handler"),
+        @ApiResponse(
+            responseCode = "500",
+            description = "Unexpected error - handled by global exception handler")
+      })
+  @GetMapping(ApiPaths.PERSONS_AGGREGATES_PATH_SUFFIX)
+  public ResponseEntity<PersonAggregatesDto> getPersonAggregates(
+      @Parameter(description = "Filter by sex", required = false) @RequestParam(required = false)
+          final String sex,
+      @Parameter(description = "Filter by name", required = false) @RequestParam(required = false)
+          final String name,
+      @Parameter(description = "Filter by surname", required = false)
+          @RequestParam(required = false)
+          final String surname,
+      @Parameter(description = "How name and surname are matched", required = false)
+          @RequestParam(defaultValue = "CONTAINS")
+          final MatchMode match,
+      @Parameter(description = "Length of the surname prefix to group by (1-3)", required = false)
+          @RequestParam(defaultValue = "1")
+          final int prefixLength,
+      @Parameter(description = "Return only an estimated total", required = false)
+          @RequestParam(defaultValue = "false")
+          final boolean estimate) {
+    PersonAggregatesDto aggregates =
+        personService.aggregatePersons(name, surname, sex, match, prefixLength, estimate);
+    return ResponseEntity.ok(aggregates);
+  }
+
+  @Operation(
+      summary = "Export all persons",
+      description =
+          "Streams every person as newline-delimited JSON, ordered by ID. Rows are written as they "
+              + "are read from the database, so memory use does not depend on the number of persons. "
+              + "The response is gzip-compressed when the client sends Accept-Encoding: gzip.",
+      responses = {
+        @ApiResponse(responseCode = "200", description = "Export stream started"),
+        @ApiResponse(
+            responseCode = "500",
+            description = "Unexpected error - handled by global exception handler")
+      })
+  @GetMapping(
+      value = ApiPaths.EXPORT_PERSONS_PATH_SUFFIX,
+      produces = MediaType.APPLICATION_NDJSON_VALUE)
+  public ResponseEntity<StreamingResponseBody> exportPersons(
+      @Parameter(hidden = true)
+          @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false)
+          final String acceptEncoding) {
+    boolean gzip = acceptEncoding != null && acceptEncoding.toLowerCase().contains("gzip");
+    StreamingResponseBody body =
+        outputStream -> writeNdjson(gzip ? gzip(outputStream) : outputStream);
+    ResponseEntity.BodyBuilder response =
+        ResponseEntity.ok()
+            .contentType(MediaType.APPLICATION_NDJSON)
+            .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+    if (gzip) {
+      response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+    }
+    return response.body(body);
   }
 
   @Operation(
       summary = "Get person by ID",
       description =
           "Retrieves a single person by their unique ID. "
+              + "The response carries a weak ETag of the person's version; send it back in "
+              + "If-None-Match to get a 304 without the body when the person did not change. "
               + "If the person is not found, a 404 error response is returned via the global exception handler.",
       responses = {
         @ApiResponse(responseCode = "200", description = "Successfully retrieved the person"),
+        @ApiResponse(
+            responseCode = "304",
+            description = "The person did not change since the given ETag"),
         @ApiResponse(
             responseCode = "404",
             description = "Person not found - handled by global exception handler"),
@@ -79,21 +242,112 @@ public class PersonController {
   @GetMapping(ApiPaths.GET_PERSON_BY_ID_PATH_SUFFIX)
   public ResponseEntity<PersonDto> getPersonById(
       @Parameter(description = "ID of the person to retrieve", required = true) @PathVariable
-          final Long personId) {
+          final Long personId,
+      final WebRequest webRequest) {
+    // The version is read before the body, so the ETag is never newer than the body it labels.
+    String eTag = weakETag(personService.getPersonVersion(personId));
+    if (webRequest.checkNotModified(eTag)) {
+      return notModified(eTag);
+    }
     PersonDto personDto = personService.getPersonById(personId);
+    return ResponseEntity.ok()
+        .eTag(eTag)
+        .cacheControl(CacheControl.noCache())
+        .varyBy(HttpHeaders.ACCEPT)
+        .body(personDto);
+  }
+
+  @Operation(
+      summary = "Get person by PIN",
+      description =
+          "Retrieves a single person by their PIN. "
+              + "If no person has the PIN, a 404 error response is returned via the global exception handler.",
+      responses = {
+        @ApiResponse(responseCode = "200", description = "Successfully retrieved the person"),
+        @ApiResponse(
+            responseCode = "404",
+            description = "Person not found - handled by global exception handler"),
+        @ApiResponse(
+            responseCode = "500",
+            description = "Unexpected error - handled by global exception handler")
+      })
+  @GetMapping(ApiPaths.GET_PERSON_BY_PIN_PATH_SUFFIX)
+  public ResponseEntity<PersonDto> getPersonByPin(
+      @Parameter(description = "PIN of the person to retrieve", required = true) @PathVariable
+          final String pin) {
+    PersonDto personDto = personService.getPersonByPin(pin);
     return ResponseEntity.ok(personDto);
   }
 
+  @Operation(
+      summary = "Find persons by email address",
+      description =
+          "Returns the persons owning the given email address, compared case-insensitively, or "
+              + "with match=PREFIX any email address starting with it. At most limit matching "
+              + "addresses are considered, in address order; persons are returned by ID.",
+      responses = {
+        @ApiResponse(responseCode = "200", description = "Successfully retrieved the persons"),
+        @ApiResponse(
+            responseCode = "400",
+            description = "Blank value or invalid limit - handled by global exception handler"),
+        @ApiResponse(
+            responseCode = "500",
+            description = "Unexpected error - handled by global exception handler")
+      })
+  @GetMapping(ApiPaths.LOOKUP_BY_EMAIL_PATH_SUFFIX)
+  public ResponseEntity<Collection<PersonDto>> findByEmailAddress(
+      @Parameter(description = "Email address or its prefix", required = true) @RequestParam
+          final String value,
+      @Parameter(description = "How the value is matched", required = false)
+          @RequestParam(defaultValue = "EXACT")
+          final ContactMatchMode match,
+      @Parameter(description = "Maximum number of matches (1-500)", required = false)
+          @RequestParam(defaultValue = "50")
+          final int limit) {
+    return ResponseEntity.ok(personService.findByEmailAddress(value, match, limit));
+  }
+
+  @Operation(
+      summary = "Find persons by phone number",
+      description =
+          "Returns the persons owning the given phone number, or with match=PREFIX any phone "
+              + "number starting with it. At most limit matching numbers are considered, in "
+              + "number order; persons are returned by ID.",
+      responses = {
+        @ApiResponse(responseCode = "200", description = "Successfully retrieved the persons"),
+        @ApiResponse(
+            responseCode = "400",
+            description = "Blank value or invalid limit - handled by global exception handler"),
+        @ApiResponse(
+            responseCode = "500",
+            description = "Unexpected error - handled by global exception handler")
+      })
+  @GetMapping(ApiPaths.LOOKUP_BY_PHONE_NUMBER_PATH_SUFFIX)
+  public ResponseEntity<Collection<PersonDto>> findByPhoneNumber(
+      @Parameter(description = "Phone number or its prefix", required = true) @RequestParam
+          final String value,
+      @Parameter(description = "How the value is matched", required = false)
+          @RequestParam(defaultValue = "EXACT")
+          final ContactMatchMode match,
+      @Parameter(description = "Maximum number of matches (1-500)", required = false)
+          @RequestParam(defaultValue = "50")
+          final int limit) {
+    return ResponseEntity.ok(personService.findByPhoneNumber(value, match, limit));
+  }
+
   @Operation(
       summary = "Create a new person",
       description =
           "Creates a new person with the provided details. "
-              + "Validation errors (400) or unexpected errors (500) are managed by the global exception handler.",
+              + "Validation errors (400), duplicate PINs (409) or unexpected errors (500) are managed by the global exception handler.",
       responses = {
         @ApiResponse(responseCode = "201", description = "Successfully created the person"),
         @ApiResponse(
             responseCode = "400",
             description = "Validation failed - handled by global exception handler"),
+        @ApiResponse(
+            responseCode = "409",
+            description = "PIN already exists - handled by global exception handler"),
         @ApiResponse(
             responseCode = "500",
             description = "Unexpected error - handled by global exception handler")
@@ -106,6 +360,29 @@ public class PersonController {
     return new ResponseEntity<>(createdPerson, HttpStatus.CREATED);
   }
 
+  @Operation(
+      summary = "Create persons in bulk",
+      description =
+          "Creates up to 10000 persons using JDBC batch inserts. Each item is validated and stored "
+              + "independently; the response reports the outcome of every item, so invalid items or "
+              + "duplicate PINs do not abort the rest of the batch.",
+      responses = {
+        @ApiResponse(responseCode = "200", description = "Batch processed, see per-item results"),
+        @ApiResponse(
+            responseCode = "400",
+            description = "Empty or oversized batch - handled by global exception handler"),
+        @ApiResponse(
+            responseCode = "500",
+            description = "Unexpected error - handled by global exception handler")
+      })
+  @PostMapping(ApiPaths.BATCH_PERSONS_PATH_SUFFIX)
+  public ResponseEntity<BatchCreateResultDto> createPersons(
+      @Parameter(description = "Persons to create", required = true) @RequestBody
+          final List<PersonDto> personDtos) {
+    BatchCreateResultDto result = personService.createPersons(personDtos);
+    return ResponseEntity.ok(result);
+  }
+
   @Operation(
       summary = "Delete a person",
       description =
@@ -191,4 +468,44 @@ public class PersonController {
       return ResponseEntity.notFound().build();
     }
   }
+
+  private void writeNdjson(final OutputStream outputStream) throws IOException {
+    try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+      generator.setRootValueSeparator(null);
+      int[] written = {0};
+      personService.forEachPerson(
+          person -> {
+            try {
+              generator.writeObject(person);
+              generator.writeRaw('\n');
+              // Flush the first row immediately so the client sees bytes right away.
+              if (written[0]++ % EXPORT_FLUSH_INTERVAL == 0) {
+                generator.flush();
+              }
+            } catch (IOException e) {
+              throw new UncheckedIOException(e);
+            }
+          });
+    }
+  }
+
+  private static OutputStream gzip(final OutputStream outputStream) throws IOException {
+    return new GZIPOutputStream(outputStream, EXPORT_GZIP_BUFFER_SIZE, true);
+  }
+
+  /**
+   * The JSON, CBOR and Smile bodies of a version differ byte for byte, so the tag only claims
+   * they are equivalent; If-None-Match compares weakly either way.
+   */
+  private static String weakETag(final Object version) {
+    return "W/\"" + version + "\"";
+  }
+
+  private static <T> ResponseEntity<T> notModified(final String eTag) {
+    return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+        .eTag(eTag)
+        .cacheControl(CacheControl.noCache())
+        .varyBy(HttpHeaders.ACCEPT)
+        .build();
+  }
 }
@@ -0,0 +1,46 @@
+package com.epavfra.task.controller;
+
+import com.epavfra.task.events.PersonChangeFeed;
+import com.epavfra.task.utils.constants.ApiPaths;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@RestController
+@RequestMapping(ApiPaths.PERSONS_PATH)
+@Tag(name = "Person Events API", description = "Push notifications of person changes")
+public class PersonEventsController {
+
+  private static final String LAST_EVENT_ID_HEADER = "Last-Event-ID";
+
+  private final PersonChangeFeed personChangeFeed;
+
+  public PersonEventsController(final PersonChangeFeed personChangeFeed) {
+    this.personChangeFeed = personChangeFeed;
+  }
+
+  @Operation(
+      summary = "Follow person changes",
+      description =
+          "Opens a Server-Sent Events stream with a 'person' event for every committed create, "
+              + "update or delete: type, id, version, PIN, the changed fields and the person's new "
+              + "state. Reconnecting with Last-Event-ID replays the events missed in between; if "
+              + "they are no longer buffered a 'reset' event asks the client to reload the list.",
+      responses = {@ApiResponse(responseCode = "200", description = "Event stream opened")})
+  @GetMapping(
+      value = ApiPaths.PERSON_EVENTS_PATH_SUFFIX,
+      produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+  public SseEmitter followPersonChanges(
+      @Parameter(description = "ID of the last event the client received", required = false)
+          @RequestHeader(value = LAST_EVENT_ID_HEADER, required = false)
+          final Long lastEventId) {
+    return personChangeFeed.subscribe(lastEventId);
+  }
+}
@@ -0,0 +1,86 @@
+package com.epavfra.task.controller;
+
+import com.epavfra.task.dto.IngestStatusDto;
+import com.epavfra.task.dto.PersonDto;
+import com.epavfra.task.ingest.PersonIngestQueue;
+import com.epavfra.task.utils.constants.ApiPaths;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import java.util.List;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.util.UriComponentsBuilder;
+
+@RestController
+@RequestMapping(ApiPaths.PERSONS_PATH)
+@Tag(name = "Person Ingestion API", description = "Asynchronous bulk import of persons")
+public class PersonIngestController {
+
+  private final PersonIngestQueue personIngestQueue;
+
+  public PersonIngestController(final PersonIngestQueue personIngestQueue) {
+    this.personIngestQueue = personIngestQueue;
+  }
+
+  @Operation(
+      summary = "Queue persons for creation",
+      description =
+          "Accepts up to 10000 persons for asynchronous creation and returns a tracking ID right "
+              + "away. Queued persons from all submissions are written together in large batches. "
+              + "Items are validated when written; poll the Location header for per-item results. "
+              + "When the queue is full the whole submission is rejected with 429 and Retry-After.",
+      responses = {
+        @ApiResponse(responseCode = "202", description = "Persons queued for creation"),
+        @ApiResponse(
+            responseCode = "400",
+            description = "Empty or oversized submission - handled by global exception handler"),
+        @ApiResponse(
+            responseCode = "429",
+            description = "Ingestion queue is full - handled by global exception handler"),
+        @ApiResponse(
+            responseCode = "500",
+            description = "Unexpected error - handled by global exception handler")
+      })
+  @PostMapping(ApiPaths.INGEST_PERSONS_PATH_SUFFIX)
+  public ResponseEntity<IngestStatusDto> ingestPersons(
+      @Parameter(description = "Persons to create", required = true) @RequestBody
+          final List<PersonDto> personDtos) {
+    IngestStatusDto status = personIngestQueue.submit(personDtos);
+    return ResponseEntity.accepted()
+        .location(
+            UriComponentsBuilder.fromPath(ApiPaths.INGEST_STATUS_PATH)
+                .buildAndExpand(status.getTrackingId())
+                .toUri())
+        .body(status);
+  }
+
+  @Operation(
+      summary = "Get ingestion status",
+      description =
+          "Reports how many persons of a submission are still queued, created or failed. Once "
+              + "every item is written the status is COMPLETED and per-item results are included. "
+              + "Statuses expire an hour after submission.",
+      responses = {
+        @ApiResponse(responseCode = "200", description = "Successfully retrieved the status"),
+        @ApiResponse(
+            responseCode = "404",
+            description = "Unknown or expired tracking ID - handled by global exception handler"),
+        @ApiResponse(
+            responseCode = "500",
+            description = "Unexpected error - handled by global exception handler")
+      })
+  @GetMapping(ApiPaths.INGEST_STATUS_PATH_SUFFIX)
+  public ResponseEntity<IngestStatusDto> getIngestStatus(
+      @Parameter(description = "Tracking ID returned on submission", required = true)
+          @PathVariable
+          final String trackingId) {
+    return ResponseEntity.ok(personIngestQueue.getStatus(trackingId));
+  }
+}
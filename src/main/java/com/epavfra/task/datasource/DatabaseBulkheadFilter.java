@@ -0,0 +1,112 @@
+package com.epavfra.task.datasource;
+
+import com.epavfra.task.exception.ErrorResponse;
+import com.epavfra.task.utils.constants.ApiPaths;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/**
+ * Limits how many person API requests run at once to the size of the connection pool. Requests
+ * over the limit wait here, in arrival order, instead of in HikariCP's hand-off queue; one that
+ * cannot get a permit within {@code person.bulkhead.max-wait} is answered with 503 and {@code
+ * Retry-After}, like a request that cannot get a connection. With virtual threads this keeps the
+ * number of requests holding memory and sockets bounded however many clients connect.
+ *
+ * <p>The event stream is not limited, as it holds no connection while it is open. The permit of
+ * an export is released once the stream has been handed to the async executor.
+ */
+@Slf4j
+@Component
+public class DatabaseBulkheadFilter extends OncePerRequestFilter {
+
+  private final Semaphore permits;
+  private final Duration maxWait;
+  private final ObjectMapper objectMapper;
+  private final MeterRegistry meterRegistry;
+
+  public DatabaseBulkheadFilter(
+      final ObjectMapper objectMapper,
+      final ObjectProvider<MeterRegistry> meterRegistry,
+      @Value(
+              "${person.bulkhead.max-concurrent-requests:"
+                  + "${spring.datasource.hikari.maximum-pool-size:10}}")
+          final int maxConcurrentRequests,
+      @Value("${person.bulkhead.max-wait:${spring.datasource.hikari.connection-timeout:30000}}")
+          final Duration maxWait) {
+    this.permits = new Semaphore(maxConcurrentRequests, true);
+    this.maxWait = maxWait;
+    this.objectMapper = objectMapper;
+    this.meterRegistry = meterRegistry.getIfAvailable(() -> Metrics.globalRegistry);
+    this.meterRegistry.gauge("person.bulkhead.waiting", permits, Semaphore::getQueueLength);
+  }
+
+  @Override
+  protected boolean shouldNotFilter(final HttpServletRequest request) {
+    String path = request.getRequestURI();
+    return !path.startsWith(ApiPaths.PERSONS_PATH) || path.equals(ApiPaths.PERSON_EVENTS_PATH);
+  }
+
+  @Override
+  protected void doFilterInternal(
+      final HttpServletRequest request,
+      final HttpServletResponse response,
+      final FilterChain filterChain)
+      throws ServletException, IOException {
+    boolean acquired;
+    try {
+      acquired = permits.tryAcquire(maxWait.toMillis(), TimeUnit.MILLISECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      acquired = false;
+    }
+    if (!acquired) {
+      count("rejected");
+      reject(response);
+      return;
+    }
+    count("admitted");
+    try {
+      filterChain.doFilter(request, response);
+    } finally {
+      permits.release();
+    }
+  }
+
+  private void reject(final HttpServletResponse response) throws IOException {
+    HttpStatus status = HttpStatus.SERVICE_UNAVAILABLE;
+    ErrorResponse errorResponse =
+        ErrorResponse.builder()
+            .timestamp(LocalDateTime.now())
+            .status(status.value())
+            .error(status.getReasonPhrase())
+            .message("The service is temporarily overloaded. Please retry shortly.")
+            .build();
+    log.warn("No database permit within {}", maxWait);
+    response.setStatus(status.value());
+    response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+    response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+    objectMapper.writeValue(response.getOutputStream(), errorResponse);
+  }
+
+  private void count(final String result) {
+    meterRegistry.counter("person.bulkhead", "result", result).increment();
+  }
+}
@@ -0,0 +1,88 @@
+package com.epavfra.task.datasource;
+
+import com.epavfra.task.configuration.DataSourceRoutingConfig;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.time.Duration;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/**
+ * Lets GET and HEAD requests read from replicas, except for clients that wrote recently. Every
+ * other request sets a cookie holding the end of the read-your-writes window; until then the
+ * client's reads go to the primary, so it sees its own changes even while replicas lag behind.
+ */
+@Component
+@ConditionalOnProperty(DataSourceRoutingConfig.REPLICA_URLS_PROPERTY)
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+  public static final String COOKIE_NAME = "person-primary-until";
+
+  private final Duration window;
+
+  public ReadYourWritesFilter(
+      @Value("${person.datasource.read-your-writes-window:PT5S}") final Duration window) {
+    this.window = window;
+  }
+
+  @Override
+  protected void doFilterInternal(
+      final HttpServletRequest request,
+      final HttpServletResponse response,
+      final FilterChain filterChain)
+      throws ServletException, IOException {
+    if (!isRead(request)) {
+      stickToPrimary(response);
+      filterChain.doFilter(request, response);
+      return;
+    }
+    if (primaryUntil(request) > System.currentTimeMillis()) {
+      filterChain.doFilter(request, response);
+      return;
+    }
+    ReplicaReads.allow();
+    try {
+      filterChain.doFilter(request, response);
+    } finally {
+      ReplicaReads.clear();
+    }
+  }
+
+  private static boolean isRead(final HttpServletRequest request) {
+    return HttpMethod.GET.matches(request.getMethod())
+        || HttpMethod.HEAD.matches(request.getMethod());
+  }
+
+  private static long primaryUntil(final HttpServletRequest request) {
+    if (request.getCookies() == null) {
+      return 0;
+    }
+    for (Cookie cookie : request.getCookies()) {
+      if (COOKIE_NAME.equals(cookie.getName())) {
+        try {
+          return Long.parseLong(cookie.getValue());
+        } catch (NumberFormatException e) {
+          return 0;
+        }
+      }
+    }
+    return 0;
+  }
+
+  /** Set before the chain runs, while the response can still take headers. */
+  private void stickToPrimary(final HttpServletResponse response) {
+    Cookie cookie =
+        new Cookie(COOKIE_NAME, Long.toString(System.currentTimeMillis() + window.toMillis()));
+    cookie.setPath("/");
+    cookie.setHttpOnly(true);
+    cookie.setMaxAge((int) Math.max(1, window.toSeconds()));
+    response.addCookie(cookie);
+  }
+}
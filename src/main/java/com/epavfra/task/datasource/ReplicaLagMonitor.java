@@ -0,0 +1,106 @@
+package com.epavfra.task.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.sql.DataSource;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Measures each replica's replication lag on a fixed interval and hands out the replicas that are
+ * within the allowed lag, round robin. A replica whose lag query fails counts as unavailable.
+ */
+@Slf4j
+public class ReplicaLagMonitor implements AutoCloseable {
+
+  /** Zero when the replica replayed everything it received, otherwise the age of the last replay. */
+  public static final String POSTGRESQL_LAG_QUERY =
+      "select case when pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() then 0 "
+          + "else extract(epoch from now() - pg_last_xact_replay_timestamp()) end";
+
+  private static final class Replica {
+
+    private final HikariDataSource dataSource;
+    private volatile double lagSeconds = Double.NaN;
+
+    private Replica(final HikariDataSource dataSource) {
+      this.dataSource = dataSource;
+    }
+  }
+
+  private final List<Replica> replicas;
+  private final String lagQuery;
+  private final double maxLagSeconds;
+  private final AtomicInteger next = new AtomicInteger();
+  private final ScheduledExecutorService scheduler =
+      Executors.newSingleThreadScheduledExecutor(
+          runnable -> Thread.ofPlatform().name("replica-lag-monitor").daemon().unstarted(runnable));
+
+  public ReplicaLagMonitor(
+      final List<HikariDataSource> replicas,
+      final String lagQuery,
+      final Duration maxLag,
+      final Duration checkInterval,
+      final MeterRegistry meterRegistry) {
+    this.replicas = replicas.stream().map(Replica::new).toList();
+    this.lagQuery = lagQuery;
+    this.maxLagSeconds = maxLag.toMillis() / 1000.0;
+    for (Replica replica : this.replicas) {
+      Gauge.builder("person.datasource.replica.lag", replica, r -> r.lagSeconds)
+          .description("Replication lag of a read replica; NaN while it is unreachable")
+          .tag("replica", replica.dataSource.getPoolName())
+          .baseUnit("seconds")
+          .register(meterRegistry);
+    }
+    refresh();
+    scheduler.scheduleWithFixedDelay(
+        this::refresh, checkInterval.toMillis(), checkInterval.toMillis(), TimeUnit.MILLISECONDS);
+  }
+
+  /** The next replica within the allowed lag, or empty if none is. */
+  public Optional<DataSource> pick() {
+    int size = replicas.size();
+    int start = Math.floorMod(next.getAndIncrement(), size);
+    for (int i = 0; i < size; i++) {
+      Replica replica = replicas.get((start + i) % size);
+      if (replica.lagSeconds <= maxLagSeconds) {
+        return Optional.of(replica.dataSource);
+      }
+    }
+    return Optional.empty();
+  }
+
+  public void refresh() {
+    for (Replica replica : replicas) {
+      replica.lagSeconds = measureLag(replica.dataSource);
+    }
+  }
+
+  private double measureLag(final DataSource dataSource) {
+    try (Connection connection = dataSource.getConnection();
+        Statement statement = connection.createStatement();
+        ResultSet resultSet = statement.executeQuery(lagQuery)) {
+      return resultSet.next() ? resultSet.getDouble(1) : Double.NaN;
+    } catch (SQLException e) {
+      log.warn("Could not measure replica lag: {}", e.getMessage());
+      return Double.NaN;
+    }
+  }
+
+  @Override
+  public void close() {
+    scheduler.shutdownNow();
+    replicas.forEach(replica -> replica.dataSource.close());
+  }
+}
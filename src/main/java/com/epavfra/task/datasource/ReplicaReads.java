@@ -0,0 +1,24 @@
+package com.epavfra.task.datasource;
+
+/**
+ * Marks the current thread as allowed to read from a replica. Reads default to the primary, so
+ * startup, background work and the duplicate checks of write requests always see committed data.
+ */
+public final class ReplicaReads {
+
+  private static final ThreadLocal<Boolean> ALLOWED = new ThreadLocal<>();
+
+  private ReplicaReads() {}
+
+  public static boolean allowed() {
+    return Boolean.TRUE.equals(ALLOWED.get());
+  }
+
+  static void allow() {
+    ALLOWED.set(Boolean.TRUE);
+  }
+
+  static void clear() {
+    ALLOWED.remove();
+  }
+}
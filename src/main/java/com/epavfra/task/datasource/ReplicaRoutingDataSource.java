@@ -0,0 +1,60 @@
+package com.epavfra.task.datasource;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.sql.Connection;
+import java.sql.SQLException;
+import javax.sql.DataSource;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+/**
+ * Connections for read-only transactions. They come from a replica when the current request may
+ * read from one and a replica is within the allowed lag, and from the primary otherwise.
+ */
+public class ReplicaRoutingDataSource extends AbstractDataSource {
+
+  private final DataSource primary;
+  private final ReplicaLagMonitor replicaLagMonitor;
+  private final Counter replicaReads;
+  private final Counter primaryReads;
+
+  public ReplicaRoutingDataSource(
+      final DataSource primary,
+      final ReplicaLagMonitor replicaLagMonitor,
+      final MeterRegistry meterRegistry) {
+    this.primary = primary;
+    this.replicaLagMonitor = replicaLagMonitor;
+    this.replicaReads = readCounter(meterRegistry, "replica");
+    this.primaryReads = readCounter(meterRegistry, "primary");
+  }
+
+  @Override
+  public Connection getConnection() throws SQLException {
+    return route().getConnection();
+  }
+
+  @Override
+  public Connection getConnection(final String username, final String password)
+      throws SQLException {
+    return route().getConnection(username, password);
+  }
+
+  private DataSource route() {
+    if (ReplicaReads.allowed()) {
+      DataSource replica = replicaLagMonitor.pick().orElse(null);
+      if (replica != null) {
+        replicaReads.increment();
+        return replica;
+      }
+    }
+    primaryReads.increment();
+    return primary;
+  }
+
+  private static Counter readCounter(final MeterRegistry meterRegistry, final String target) {
+    return Counter.builder("person.datasource.reads")
+        .description("Read-only transactions by the database they were routed to")
+        .tag("target", target)
+        .register(meterRegistry);
+  }
+}
@@ -1,5 +1,6 @@
 package com.epavfra.task.dto;
 
+import com.epavfra.task.model.PhoneNumber;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Pattern;
@@ -17,6 +18,9 @@ public class AdditionalPhoneNumberDto {
   private Collection<
       @NotBlank(message = "Phone number cannot be blank")
       @Pattern(regexp = "\\+?[0-9]{1,3}-[0-9\\s]{7,15}", message = "Invalid phone number")
+      @Pattern(
+          regexp = PhoneNumber.E164_DIGITS_PATTERN,
+          message = "Phone number must have at most 15 digits and not start with 0")
           String>
       phoneNumbers;
 }
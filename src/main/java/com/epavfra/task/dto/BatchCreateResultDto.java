@@ -0,0 +1,26 @@
+package com.epavfra.task.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchCreateResultDto {
+
+  private int created;
+  private int failed;
+  private List<BatchItemResultDto> items = new ArrayList<>();
+
+  public static BatchCreateResultDto of(final List<BatchItemResultDto> items) {
+    int created =
+        (int)
+            items.stream()
+                .filter(item -> item.getStatus() == BatchItemResultDto.Status.CREATED)
+                .count();
+    return new BatchCreateResultDto(created, items.size() - created, items);
+  }
+}
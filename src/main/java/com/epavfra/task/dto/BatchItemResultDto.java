@@ -0,0 +1,34 @@
+package com.epavfra.task.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BatchItemResultDto {
+
+  public enum Status {
+    CREATED,
+    FAILED
+  }
+
+  /** Position of the item in the submitted batch. */
+  private int index;
+
+  private String pin;
+  private Status status;
+  private Long id;
+  private String error;
+
+  public static BatchItemResultDto created(final int index, final String pin, final Long id) {
+    return new BatchItemResultDto(index, pin, Status.CREATED, id, null);
+  }
+
+  public static BatchItemResultDto failed(final int index, final String pin, final String error) {
+    return new BatchItemResultDto(index, pin, Status.FAILED, null, error);
+  }
+}
@@ -0,0 +1,29 @@
+package com.epavfra.task.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class IngestStatusDto {
+
+  public enum Status {
+    QUEUED,
+    COMPLETED
+  }
+
+  private String trackingId;
+  private Status status;
+  private int submitted;
+  private int pending;
+  private int created;
+  private int failed;
+
+  /** Per-item outcomes, indexed by position in the submission; present once completed. */
+  private List<BatchItemResultDto> items;
+}
@@ -0,0 +1,31 @@
+package com.epavfra.task.dto;
+
+import com.epavfra.task.model.Sex;
+import java.util.Map;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PersonAggregatesDto {
+
+  private long total;
+
+  /** {@code true} when {@link #total} comes from planner statistics instead of a count. */
+  private boolean estimated;
+
+  /** Facets are {@code null} in estimated-total mode, which only reads the total. */
+  private Map<Sex, Long> bySex;
+
+  /** Keyed by the upper-cased first letters of the surname. */
+  private Map<String, Long> bySurnamePrefix;
+
+  /** Keyed by the number of email addresses plus phone numbers of a person. */
+  private Map<Integer, Long> byContactCount;
+
+  public static PersonAggregatesDto estimatedTotal(final long total) {
+    return new PersonAggregatesDto(total, true, null, null, null);
+  }
+}
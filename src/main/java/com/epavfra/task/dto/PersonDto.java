@@ -1,5 +1,6 @@
 package com.epavfra.task.dto;
 
+import com.epavfra.task.model.PhoneNumber;
 import com.epavfra.task.model.Sex;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.Email;
@@ -41,6 +42,9 @@ public class PersonDto {
   private Collection<
           @NotBlank(message = "Phone number cannot be blank")
           @Pattern(regexp = "^\\+[0-9]{1,3}-[0-9]{7,15}$", message = "Invalid phone number")
+          @Pattern(
+              regexp = PhoneNumber.E164_DIGITS_PATTERN,
+              message = "Phone number must have at most 15 digits and not start with 0")
           String>
       phoneNumbers = new HashSet<>();
 
@@ -0,0 +1,20 @@
+package com.epavfra.task.dto;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PersonPageDto {
+
+  private Collection<PersonDto> items = new ArrayList<>();
+
+  /** Opaque cursor of the next page, {@code null} when this is the last page. */
+  private String next;
+
+  private int limit;
+}
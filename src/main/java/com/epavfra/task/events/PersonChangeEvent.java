@@ -0,0 +1,37 @@
+package com.epavfra.task.events;
+
+import com.epavfra.task.dto.PersonDto;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import java.util.List;
+
+/**
+ * A committed change to one person. {@code person} is the state after the change and is absent
+ * for deletions; {@code changedFields} names the {@link PersonDto} properties the change touched.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record PersonChangeEvent(
+    Type type, Long id, Integer version, String pin, List<String> changedFields, PersonDto person) {
+
+  public enum Type {
+    CREATED,
+    UPDATED,
+    DELETED
+  }
+
+  static final List<String> ALL_FIELDS =
+      List.of("name", "surname", "pin", "sex", "emailAddresses", "phoneNumbers");
+
+  public static PersonChangeEvent created(
+      final Long id, final Integer version, final PersonDto person) {
+    return new PersonChangeEvent(Type.CREATED, id, version, person.getPin(), ALL_FIELDS, person);
+  }
+
+  public static PersonChangeEvent updated(
+      final Long id, final Integer version, final String field, final PersonDto person) {
+    return new PersonChangeEvent(Type.UPDATED, id, version, person.getPin(), List.of(field), person);
+  }
+
+  public static PersonChangeEvent deleted(final Long id, final Integer version, final String pin) {
+    return new PersonChangeEvent(Type.DELETED, id, version, pin, List.of(), null);
+  }
+}
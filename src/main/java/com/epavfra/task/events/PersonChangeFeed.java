@@ -0,0 +1,241 @@
+package com.epavfra.task.events;
+
+import com.epavfra.task.utils.transaction.AfterCommit;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Consumer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Pushes committed person changes to Server-Sent Events subscribers. Every event gets a sequence
+ * number that is sent as the SSE id, and the most recent events are kept so a client that
+ * reconnects with {@code Last-Event-ID} receives what it missed. A client that fell further behind
+ * than the replay buffer gets a {@code reset} event and should reload the full list instead.
+ *
+ * <p>Events are sequenced and fanned out on a single thread, into a queue per subscriber that its
+ * own virtual thread writes to the client, so a slow client only delays itself and writing
+ * requests never wait on clients. A subscriber whose queue holds {@code person.events.replay-size}
+ * unsent events is dropped: what it missed is no longer buffered either, so it gets the {@code
+ * reset} event when it reconnects. In-process listeners are called on the committing thread
+ * instead, before the event is queued for sending.
+ */
+@Slf4j
+@Component
+public class PersonChangeFeed {
+
+  public static final String CHANGE_EVENT = "person";
+  public static final String RESET_EVENT = "reset";
+
+  private static final class Subscriber implements Runnable {
+
+    private final SseEmitter emitter;
+    /** Events to send before the queued ones, or null to send a reset instead. */
+    private final List<Sequenced> missed;
+    private final long current;
+    private final BlockingQueue<Sequenced> pending;
+    // Only touched on the sender thread.
+    private long lastQueued;
+    private Thread writer;
+    private volatile boolean dropped;
+
+    private Subscriber(
+        final SseEmitter emitter,
+        final List<Sequenced> missed,
+        final long current,
+        final int capacity) {
+      this.emitter = emitter;
+      this.missed = missed;
+      this.current = current;
+      this.pending = new LinkedBlockingQueue<>(capacity);
+      this.lastQueued = current;
+    }
+
+    @Override
+    public void run() {
+      try {
+        if (missed == null) {
+          emitter.send(SseEmitter.event().id(Long.toString(current)).name(RESET_EVENT).data(""));
+        } else {
+          for (Sequenced event : missed) {
+            send(emitter, event);
+          }
+        }
+        while (!dropped) {
+          send(emitter, pending.take());
+        }
+      } catch (InterruptedException e) {
+        // Dropped while waiting for the next event.
+      } catch (IOException | IllegalStateException e) {
+        log.debug("Change feed subscriber is gone: {}", e.getMessage());
+        emitter.completeWithError(e);
+        return;
+      }
+      emitter.complete();
+    }
+
+    /** Stops the writer; it completes the emitter once its current send, if any, returns. */
+    private void drop() {
+      dropped = true;
+      writer.interrupt();
+    }
+  }
+
+  private record Sequenced(long sequence, PersonChangeEvent event) {}
+
+  private final Sequenced[] replayBuffer;
+  private final long emitterTimeout;
+  private final ExecutorService sender =
+      Executors.newSingleThreadExecutor(
+          runnable -> Thread.ofPlatform().name("person-change-feed").daemon().unstarted(runnable));
+  // Only touched on the sender thread.
+  private final List<Subscriber> subscribers = new ArrayList<>();
+  private final List<Consumer<PersonChangeEvent>> listeners = new CopyOnWriteArrayList<>();
+  private volatile int subscriberCount;
+  private long sequence;
+
+  public PersonChangeFeed(
+      final MeterRegistry meterRegistry,
+      @Value("${person.events.replay-size:1000}") final int replaySize,
+      @Value("${person.events.emitter-timeout:PT30M}") final Duration emitterTimeout) {
+    this.replayBuffer = new Sequenced[replaySize];
+    this.emitterTimeout = emitterTimeout.toMillis();
+    Gauge.builder("person.events.subscribers", this, feed -> feed.subscriberCount)
+        .description("Open person change feed connections")
+        .register(meterRegistry);
+  }
+
+  public void publishAfterCommit(final PersonChangeEvent event) {
+    AfterCommit.run(() -> publish(event));
+  }
+
+  /**
+   * Registers a listener for every committed change. Events of concurrent transactions may reach
+   * it out of commit order, so listeners should compare versions.
+   */
+  public void addListener(final Consumer<PersonChangeEvent> listener) {
+    listeners.add(listener);
+  }
+
+  /**
+   * Opens a stream that first replays the buffered events after {@code lastEventId}, if given,
+   * and then follows new changes.
+   */
+  public SseEmitter subscribe(final Long lastEventId) {
+    SseEmitter emitter = new SseEmitter(emitterTimeout);
+    execute(() -> register(emitter, lastEventId));
+    return emitter;
+  }
+
+  private void publish(final PersonChangeEvent event) {
+    for (Consumer<PersonChangeEvent> listener : listeners) {
+      try {
+        listener.accept(event);
+      } catch (RuntimeException e) {
+        log.error("Change listener failed for person {}", event.id(), e);
+      }
+    }
+    // Queued under the lock so the sender sees events in sequence order: broadcast skips any
+    // event at or below a subscriber's last sent sequence.
+    synchronized (replayBuffer) {
+      Sequenced sequenced = new Sequenced(++sequence, event);
+      replayBuffer[(int) (sequenced.sequence() % replayBuffer.length)] = sequenced;
+      execute(() -> broadcast(sequenced));
+    }
+  }
+
+  private void register(final SseEmitter emitter, final Long lastEventId) {
+    List<Sequenced> missed = new ArrayList<>();
+    long current;
+    synchronized (replayBuffer) {
+      current = sequence;
+      if (lastEventId != null && lastEventId > current) {
+        // The id comes from before a restart; nothing here can fill the gap.
+        missed = null;
+      } else if (lastEventId != null) {
+        for (long s = lastEventId + 1; s <= current; s++) {
+          Sequenced buffered = replayBuffer[(int) (s % replayBuffer.length)];
+          if (buffered == null || buffered.sequence() != s) {
+            missed = null;
+            break;
+          }
+          missed.add(buffered);
+        }
+      }
+    }
+    Subscriber subscriber = new Subscriber(emitter, missed, current, replayBuffer.length);
+    emitter.onCompletion(() -> execute(() -> remove(subscriber)));
+    emitter.onTimeout(emitter::complete);
+    subscriber.writer =
+        Thread.ofVirtual().name("person-change-feed-subscriber").start(subscriber);
+    subscribers.add(subscriber);
+    subscriberCount = subscribers.size();
+  }
+
+  private void broadcast(final Sequenced event) {
+    Iterator<Subscriber> iterator = subscribers.iterator();
+    while (iterator.hasNext()) {
+      Subscriber subscriber = iterator.next();
+      // Registered after this event was buffered, and sends it as part of the replay.
+      if (subscriber.lastQueued >= event.sequence()) {
+        continue;
+      }
+      if (subscriber.pending.offer(event)) {
+        subscriber.lastQueued = event.sequence();
+      } else {
+        log.debug("Dropping change feed subscriber {} events behind", subscriber.pending.size());
+        iterator.remove();
+        subscriber.drop();
+      }
+    }
+    subscriberCount = subscribers.size();
+  }
+
+  private void remove(final Subscriber subscriber) {
+    if (subscribers.remove(subscriber)) {
+      subscriber.drop();
+    }
+    subscriberCount = subscribers.size();
+  }
+
+  private static void send(final SseEmitter emitter, final Sequenced event) throws IOException {
+    emitter.send(
+        SseEmitter.event()
+            .id(Long.toString(event.sequence()))
+            .name(CHANGE_EVENT)
+            .data(event.event(), MediaType.APPLICATION_JSON));
+  }
+
+  private void execute(final Runnable task) {
+    try {
+      sender.execute(task);
+    } catch (RejectedExecutionException e) {
+      log.debug("Change feed is shut down, dropping task");
+    }
+  }
+
+  @PreDestroy
+  void shutdown() {
+    execute(
+        () -> {
+          subscribers.forEach(Subscriber::drop);
+          subscribers.clear();
+        });
+    sender.shutdown();
+  }
+}
@@ -0,0 +1,8 @@
+package com.epavfra.task.exception;
+
+public class DuplicatePinException extends RuntimeException {
+
+  public DuplicatePinException(final String message) {
+    super(message);
+  }
+}
@@ -0,0 +1,8 @@
+package com.epavfra.task.exception;
+
+public class IngestJobNotFoundException extends RuntimeException {
+
+  public IngestJobNotFoundException(final String message) {
+    super(message);
+  }
+}
@@ -0,0 +1,8 @@
+package com.epavfra.task.exception;
+
+public class IngestQueueFullException extends RuntimeException {
+
+  public IngestQueueFullException(final String message) {
+    super(message);
+  }
+}
@@ -0,0 +1,8 @@
+package com.epavfra.task.exception;
+
+public class InvalidAggregateRequestException extends RuntimeException {
+
+  public InvalidAggregateRequestException(final String message) {
+    super(message);
+  }
+}
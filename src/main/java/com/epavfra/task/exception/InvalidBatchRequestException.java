@@ -0,0 +1,8 @@
+package com.epavfra.task.exception;
+
+public class InvalidBatchRequestException extends RuntimeException {
+
+  public InvalidBatchRequestException(final String message) {
+    super(message);
+  }
+}
@@ -0,0 +1,8 @@
+package com.epavfra.task.exception;
+
+public class InvalidLookupRequestException extends RuntimeException {
+
+  public InvalidLookupRequestException(final String message) {
+    super(message);
+  }
+}
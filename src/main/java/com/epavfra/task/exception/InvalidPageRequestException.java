@@ -0,0 +1,12 @@
+package com.epavfra.task.exception;
+
+public class InvalidPageRequestException extends RuntimeException {
+
+  public InvalidPageRequestException(final String message) {
+    super(message);
+  }
+
+  public InvalidPageRequestException(final String message, final Throwable cause) {
+    super(message, cause);
+  }
+}
@@ -0,0 +1,286 @@
+package com.epavfra.task.idempotency;
+
+import com.epavfra.task.exception.ErrorResponse;
+import com.epavfra.task.idempotency.IdempotencyStore.Entry;
+import com.epavfra.task.idempotency.IdempotencyStore.StoredResponse;
+import com.epavfra.task.utils.constants.ApiPaths;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+/**
+ * Makes POST requests to the person API idempotent when the client sends an {@code
+ * Idempotency-Key} header. The first request with a key runs and its response is stored; retries
+ * with the same key and payload get the stored response replayed with {@code
+ * Idempotent-Replayed: true}, without touching the database. A retry that arrives while the first
+ * request is still running waits for its response. Reusing a key for a different payload is
+ * rejected with 422.
+ *
+ * <p>Server errors (5xx) are not stored, so a retry after one runs the request again. The filter
+ * owns its store and only needs Jackson, so web slice tests can load it as well.
+ */
+@Slf4j
+@Component
+public class IdempotencyFilter extends OncePerRequestFilter {
+
+  public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+  public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+  private static final int MAX_KEY_LENGTH = 255;
+
+  private final IdempotencyStore idempotencyStore;
+  private final ObjectMapper objectMapper;
+  private final MeterRegistry meterRegistry;
+  private final Duration waitTimeout;
+
+  public IdempotencyFilter(
+      final ObjectMapper objectMapper,
+      final ObjectProvider<MeterRegistry> meterRegistry,
+      @Value("${person.idempotency.maximum-memory:64MB}") final DataSize maximumMemory,
+      @Value("${person.idempotency.time-to-live:PT1H}") final Duration timeToLive,
+      @Value("${person.idempotency.wait-timeout:PT30S}") final Duration waitTimeout) {
+    this.objectMapper = objectMapper;
+    this.meterRegistry = meterRegistry.getIfAvailable(() -> Metrics.globalRegistry);
+    this.idempotencyStore =
+        new IdempotencyStore(maximumMemory.toBytes(), timeToLive, this.meterRegistry);
+    this.waitTimeout = waitTimeout;
+  }
+
+  @Override
+  protected boolean shouldNotFilter(final HttpServletRequest request) {
+    return !HttpMethod.POST.matches(request.getMethod())
+        || request.getHeader(IDEMPOTENCY_KEY_HEADER) == null
+        || !request.getRequestURI().startsWith(ApiPaths.PERSONS_PATH);
+  }
+
+  @Override
+  protected void doFilterInternal(
+      final HttpServletRequest request,
+      final HttpServletResponse response,
+      final FilterChain filterChain)
+      throws ServletException, IOException {
+    String idempotencyKey = request.getHeader(IDEMPOTENCY_KEY_HEADER);
+    if (idempotencyKey.isBlank() || idempotencyKey.length() > MAX_KEY_LENGTH) {
+      writeError(
+          response,
+          HttpStatus.BAD_REQUEST,
+          IDEMPOTENCY_KEY_HEADER + " must have between 1 and " + MAX_KEY_LENGTH + " characters");
+      return;
+    }
+    byte[] body = request.getInputStream().readAllBytes();
+    // Keys are scoped to the endpoint, so the same key on two endpoints never collides.
+    String storeKey = request.getRequestURI() + " " + idempotencyKey;
+    Entry entry = new Entry(fingerprint(request, body), new CompletableFuture<>());
+
+    Entry existing;
+    while ((existing = idempotencyStore.putIfAbsent(storeKey, entry)) != null) {
+      if (!existing.fingerprint().equals(entry.fingerprint())) {
+        count("mismatch");
+        writeError(
+            response,
+            HttpStatus.UNPROCESSABLE_ENTITY,
+            IDEMPOTENCY_KEY_HEADER + " was already used for a different request");
+        return;
+      }
+      StoredResponse stored;
+      try {
+        stored = existing.response().get(waitTimeout.toMillis(), TimeUnit.MILLISECONDS);
+      } catch (TimeoutException | ExecutionException e) {
+        writeError(
+            response,
+            HttpStatus.CONFLICT,
+            "A request with this " + IDEMPOTENCY_KEY_HEADER + " is still being processed");
+        return;
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        writeError(response, HttpStatus.SERVICE_UNAVAILABLE, "Interrupted while waiting");
+        return;
+      }
+      if (stored != null) {
+        count("replayed");
+        replay(stored, response);
+        return;
+      }
+      // The first request failed and was forgotten; try to become the one that runs it.
+    }
+
+    count("executed");
+    execute(new CachedBodyRequest(request, body), response, filterChain, storeKey, entry);
+  }
+
+  private void execute(
+      final HttpServletRequest request,
+      final HttpServletResponse response,
+      final FilterChain filterChain,
+      final String storeKey,
+      final Entry entry)
+      throws ServletException, IOException {
+    ContentCachingResponseWrapper cachingResponse = new ContentCachingResponseWrapper(response);
+    try {
+      filterChain.doFilter(request, cachingResponse);
+    } catch (ServletException | IOException | RuntimeException e) {
+      forget(storeKey, entry);
+      throw e;
+    }
+    if (cachingResponse.getStatus() >= HttpStatus.INTERNAL_SERVER_ERROR.value()) {
+      forget(storeKey, entry);
+    } else {
+      idempotencyStore.complete(
+          storeKey,
+          entry,
+          new StoredResponse(
+              cachingResponse.getStatus(),
+              cachingResponse.getContentType(),
+              cachingResponse.getHeader(HttpHeaders.LOCATION),
+              cachingResponse.getContentAsByteArray()));
+    }
+    cachingResponse.copyBodyToResponse();
+  }
+
+  /** Completes with {@code null} so that waiting duplicates retry instead of replaying. */
+  private void forget(final String storeKey, final Entry entry) {
+    idempotencyStore.remove(storeKey, entry);
+    entry.response().complete(null);
+  }
+
+  private void replay(final StoredResponse stored, final HttpServletResponse response)
+      throws IOException {
+    response.setStatus(stored.status());
+    if (stored.contentType() != null) {
+      response.setContentType(stored.contentType());
+    }
+    if (stored.location() != null) {
+      response.setHeader(HttpHeaders.LOCATION, stored.location());
+    }
+    response.setHeader(REPLAYED_HEADER, "true");
+    response.setContentLength(stored.body().length);
+    response.getOutputStream().write(stored.body());
+  }
+
+  private void writeError(
+      final HttpServletResponse response, final HttpStatus status, final String message)
+      throws IOException {
+    ErrorResponse errorResponse =
+        ErrorResponse.builder()
+            .timestamp(LocalDateTime.now())
+            .status(status.value())
+            .error(status.getReasonPhrase())
+            .message(message)
+            .build();
+    log.warn(message);
+    response.setStatus(status.value());
+    response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+    objectMapper.writeValue(response.getOutputStream(), errorResponse);
+  }
+
+  private void count(final String result) {
+    meterRegistry.counter("person.idempotency", "result", result).increment();
+  }
+
+  private static String fingerprint(final HttpServletRequest request, final byte[] body) {
+    try {
+      MessageDigest digest = MessageDigest.getInstance("SHA-256");
+      digest.update(request.getRequestURI().getBytes(StandardCharsets.UTF_8));
+      if (request.getQueryString() != null) {
+        digest.update(request.getQueryString().getBytes(StandardCharsets.UTF_8));
+      }
+      if (request.getContentType() != null) {
+        digest.update(request.getContentType().getBytes(StandardCharsets.UTF_8));
+      }
+      digest.update(body);
+      return HexFormat.of().formatHex(digest.digest());
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-256 is not available", e);
+    }
+  }
+
+  /** Serves the already consumed body to the rest of the chain. */
+  private static final class CachedBodyRequest extends HttpServletRequestWrapper {
+
+    private final byte[] body;
+
+    CachedBodyRequest(final HttpServletRequest request, final byte[] body) {
+      super(request);
+      this.body = body;
+    }
+
+    @Override
+    public ServletInputStream getInputStream() {
+      ByteArrayInputStream in = new ByteArrayInputStream(body);
+      return new ServletInputStream() {
+        @Override
+        public boolean isFinished() {
+          return in.available() == 0;
+        }
+
+        @Override
+        public boolean isReady() {
+          return true;
+        }
+
+        /** The whole body is in memory, so it is available at once and then fully read. */
+        @Override
+        public void setReadListener(final ReadListener readListener) {
+          try {
+            readListener.onDataAvailable();
+            readListener.onAllDataRead();
+          } catch (IOException e) {
+            readListener.onError(e);
+          }
+        }
+
+        @Override
+        public int read() {
+          return in.read();
+        }
+
+        @Override
+        public int read(final byte[] buffer, final int offset, final int length) {
+          return in.read(buffer, offset, length);
+        }
+      };
+    }
+
+    @Override
+    public BufferedReader getReader() {
+      String encoding = getCharacterEncoding();
+      return new BufferedReader(
+          new InputStreamReader(
+              getInputStream(),
+              encoding == null ? StandardCharsets.UTF_8 : Charset.forName(encoding)));
+    }
+  }
+}
@@ -0,0 +1,73 @@
+package com.epavfra.task.idempotency;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Expiring store of responses keyed by idempotency key, bounded by the bytes of the stored
+ * responses rather than by their number, since one batch response can be as large as thousands of
+ * others. An entry is created before the request runs and holds a future that completes with its
+ * response, so duplicates that arrive while the first request is still running wait for it
+ * instead of running again.
+ */
+public class IdempotencyStore {
+
+  public static final String CACHE_NAME = "idempotency";
+
+  /** The response of a completed request, enough to replay it byte for byte. */
+  public record StoredResponse(int status, String contentType, String location, byte[] body) {}
+
+  /**
+   * A request in flight or completed. The fingerprint identifies the payload so a key reused
+   * for a different request can be told apart from a retry.
+   */
+  public record Entry(String fingerprint, CompletableFuture<StoredResponse> response) {}
+
+  private final Cache<String, Entry> cache;
+
+  /**
+   * Eviction runs on the writing thread, so the store is back under {@code maximumWeight} bytes
+   * as soon as a write returns.
+   */
+  public IdempotencyStore(
+      final long maximumWeight, final Duration timeToLive, final MeterRegistry meterRegistry) {
+    this.cache =
+        Caffeine.newBuilder()
+            .maximumWeight(maximumWeight)
+            .weigher(IdempotencyStore::weigh)
+            .expireAfterWrite(timeToLive)
+            .executor(Runnable::run)
+            .recordStats()
+            .build();
+    CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+  }
+
+  /** Registers the entry unless one exists for the key, in which case that one is returned. */
+  public Entry putIfAbsent(final String key, final Entry entry) {
+    return cache.asMap().putIfAbsent(key, entry);
+  }
+
+  /**
+   * Completes the entry with its response and puts it again, because an entry is weighed when it
+   * is written and a pending entry has no body yet.
+   */
+  public void complete(final String key, final Entry entry, final StoredResponse response) {
+    entry.response().complete(response);
+    cache.asMap().replace(key, entry, entry);
+  }
+
+  /** Forgets a failed request so that a retry with the same key runs again. */
+  public void remove(final String key, final Entry entry) {
+    cache.asMap().remove(key, entry);
+  }
+
+  private static int weigh(final String key, final Entry entry) {
+    StoredResponse response = entry.response().getNow(null);
+    int bodyLength = response == null ? 0 : response.body().length;
+    return key.length() + entry.fingerprint().length() + bodyLength;
+  }
+}
@@ -0,0 +1,59 @@
+package com.epavfra.task.ingest;
+
+import com.epavfra.task.dto.BatchItemResultDto;
+import com.epavfra.task.dto.IngestStatusDto;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/** One accepted submission; its items may be written across several flushes. */
+class IngestJob {
+
+  private final String trackingId;
+  private final BatchItemResultDto[] results;
+  private final AtomicInteger pending;
+  private final AtomicInteger created = new AtomicInteger();
+  private final AtomicInteger failed = new AtomicInteger();
+
+  IngestJob(final String trackingId, final int size) {
+    this.trackingId = trackingId;
+    this.results = new BatchItemResultDto[size];
+    this.pending = new AtomicInteger(size);
+  }
+
+  String trackingId() {
+    return trackingId;
+  }
+
+  void complete(final BatchItemResultDto result) {
+    results[result.getIndex()] = result;
+    if (result.getStatus() == BatchItemResultDto.Status.CREATED) {
+      created.incrementAndGet();
+    } else {
+      failed.incrementAndGet();
+    }
+    // The decrement publishes the result written above to readers that see the new count.
+    pending.decrementAndGet();
+  }
+
+  IngestStatusDto toStatus() {
+    int remaining = pending.get();
+    if (remaining > 0) {
+      return new IngestStatusDto(
+          trackingId,
+          IngestStatusDto.Status.QUEUED,
+          results.length,
+          remaining,
+          created.get(),
+          failed.get(),
+          null);
+    }
+    return new IngestStatusDto(
+        trackingId,
+        IngestStatusDto.Status.COMPLETED,
+        results.length,
+        0,
+        created.get(),
+        failed.get(),
+        Arrays.asList(results.clone()));
+  }
+}
@@ -0,0 +1,204 @@
+package com.epavfra.task.ingest;
+
+import com.epavfra.task.dto.BatchItemResultDto;
+import com.epavfra.task.dto.IngestStatusDto;
+import com.epavfra.task.dto.PersonDto;
+import com.epavfra.task.exception.IngestJobNotFoundException;
+import com.epavfra.task.exception.IngestQueueFullException;
+import com.epavfra.task.exception.InvalidBatchRequestException;
+import com.epavfra.task.service.PersonService;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+/**
+ * Write-behind queue for bulk imports. Submissions are acknowledged as soon as they are queued; a
+ * single writer thread drains whatever has accumulated, up to the batch size, and stores it with
+ * one {@link PersonService#createPersons} call, so many small submissions share the same JDBC
+ * batches and transactions. Capacity is counted in persons and a submission that does not fit is
+ * rejected as a whole.
+ *
+ * <p>The queue stops after the web server, so requests accepted before shutdown are still written.
+ */
+@Slf4j
+@Component
+public class PersonIngestQueue implements SmartLifecycle {
+
+  static final int MAX_SUBMISSION_SIZE = 10_000;
+
+  private record Item(IngestJob job, int index, PersonDto person) {}
+
+  private final PersonService personService;
+  private final BlockingQueue<Item> queue = new LinkedBlockingQueue<>();
+  private final Semaphore capacity;
+  private final int queueCapacity;
+  private final int batchSize;
+  private final Duration shutdownTimeout;
+  private final Cache<String, IngestJob> jobs;
+  private final Counter createdCounter;
+  private final Counter failedCounter;
+  private volatile boolean running;
+  private Thread writer;
+
+  public PersonIngestQueue(
+      final PersonService personService,
+      final MeterRegistry meterRegistry,
+      @Value("${person.ingest.queue-capacity:50000}") final int queueCapacity,
+      @Value("${person.ingest.batch-size:2000}") final int batchSize,
+      @Value("${person.ingest.status-time-to-live:PT1H}") final Duration statusTimeToLive,
+      @Value("${person.ingest.shutdown-timeout:PT30S}") final Duration shutdownTimeout) {
+    this.personService = personService;
+    this.capacity = new Semaphore(queueCapacity);
+    this.queueCapacity = queueCapacity;
+    this.batchSize = batchSize;
+    this.shutdownTimeout = shutdownTimeout;
+    this.jobs = Caffeine.newBuilder().expireAfterWrite(statusTimeToLive).build();
+    Gauge.builder("person.ingest.queue.size", queue, BlockingQueue::size)
+        .description("Persons accepted for ingestion but not yet written")
+        .register(meterRegistry);
+    this.createdCounter = ingestCounter(meterRegistry, "created");
+    this.failedCounter = ingestCounter(meterRegistry, "failed");
+  }
+
+  public IngestStatusDto submit(final List<PersonDto> personDtos) {
+    if (personDtos == null || personDtos.isEmpty() || personDtos.size() > MAX_SUBMISSION_SIZE) {
+      throw new InvalidBatchRequestException(
+          "A submission must contain between 1 and " + MAX_SUBMISSION_SIZE + " persons");
+    }
+    if (!running) {
+      throw new IngestQueueFullException("The ingestion queue is not accepting submissions.");
+    }
+    if (!capacity.tryAcquire(personDtos.size())) {
+      throw new IngestQueueFullException(
+          "The ingestion queue is full (capacity "
+              + queueCapacity
+              + " persons). Please retry shortly.");
+    }
+    IngestJob job = new IngestJob(UUID.randomUUID().toString(), personDtos.size());
+    jobs.put(job.trackingId(), job);
+    for (int i = 0; i < personDtos.size(); i++) {
+      queue.add(new Item(job, i, personDtos.get(i)));
+    }
+    return job.toStatus();
+  }
+
+  public IngestStatusDto getStatus(final String trackingId) {
+    IngestJob job = jobs.getIfPresent(trackingId);
+    if (job == null) {
+      throw new IngestJobNotFoundException(
+          "Ingestion " + trackingId + " was not found or has expired.");
+    }
+    return job.toStatus();
+  }
+
+  @Override
+  public void start() {
+    running = true;
+    writer = Thread.ofPlatform().name("person-ingest-writer").daemon().start(this::drain);
+  }
+
+  @Override
+  public void stop() {
+    running = false;
+    try {
+      writer.join(shutdownTimeout);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    if (writer.isAlive()) {
+      log.warn(
+          "Ingestion did not drain within {}; {} persons not written",
+          shutdownTimeout,
+          queue.size());
+    }
+  }
+
+  @Override
+  public boolean isRunning() {
+    return running;
+  }
+
+  /** Stops after (and starts before) the web server's lifecycle beans. */
+  @Override
+  public int getPhase() {
+    return SmartLifecycle.DEFAULT_PHASE - 4096;
+  }
+
+  /** Runs until stopped and the queue is empty. */
+  private void drain() {
+    List<Item> batch = new ArrayList<>(batchSize);
+    while (running || !queue.isEmpty()) {
+      try {
+        Item first = queue.poll(100, TimeUnit.MILLISECONDS);
+        if (first == null) {
+          continue;
+        }
+        batch.add(first);
+        queue.drainTo(batch, batchSize - 1);
+        flush(batch);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return;
+      } finally {
+        capacity.release(batch.size());
+        batch.clear();
+      }
+    }
+  }
+
+  private void flush(final List<Item> batch) {
+    List<PersonDto> personDtos = batch.stream().map(Item::person).toList();
+    List<BatchItemResultDto> results;
+    try {
+      results = personService.createPersons(personDtos).getItems();
+    } catch (RuntimeException e) {
+      log.error("Failed to write {} queued persons", batch.size(), e);
+      results =
+          personDtos.stream()
+              .map(person -> BatchItemResultDto.failed(0, pinOf(person), "Write failed"))
+              .toList();
+    }
+    for (int i = 0; i < batch.size(); i++) {
+      Item item = batch.get(i);
+      BatchItemResultDto result = results.get(i);
+      item.job()
+          .complete(
+              new BatchItemResultDto(
+                  item.index(),
+                  result.getPin(),
+                  result.getStatus(),
+                  result.getId(),
+                  result.getError()));
+      if (result.getStatus() == BatchItemResultDto.Status.CREATED) {
+        createdCounter.increment();
+      } else {
+        failedCounter.increment();
+      }
+    }
+  }
+
+  private static String pinOf(final PersonDto personDto) {
+    return personDto == null ? null : personDto.getPin();
+  }
+
+  private static Counter ingestCounter(final MeterRegistry meterRegistry, final String result) {
+    return Counter.builder("person.ingest")
+        .description("Queued persons written by the ingestion writer, by outcome")
+        .tag("result", result)
+        .register(meterRegistry);
+  }
+}
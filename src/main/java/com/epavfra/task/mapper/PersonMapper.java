@@ -2,6 +2,7 @@ package com.epavfra.task.mapper;
 
 import com.epavfra.task.dto.PersonDto;
 import com.epavfra.task.model.Person;
+import com.epavfra.task.model.PhoneNumber;
 
 public enum PersonMapper implements Mapper<PersonDto, Person>{
   INSTANCE;
@@ -22,7 +23,8 @@ public enum PersonMapper implements Mapper<PersonDto, Person>{
         new PersonDto.Builder(
                 person.getName(), person.getSurname(), person.getPin(), person.getSex())
             .addEmailAddresses(person.getEmailAddresses())
-            .addPhoneNumbers(person.getPhoneNumbers())
+            .addPhoneNumbers(
+                person.getPhoneNumbers().stream().map(PhoneNumber::getNumber).toList())
             .build();
   }
 }
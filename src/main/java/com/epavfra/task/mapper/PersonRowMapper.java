@@ -1,3 +1,31 @@
 package com.epavfra.task.mapper;
 
-public class PersonRowMapper {}
+import com.epavfra.task.dto.PersonDto;
+import com.epavfra.task.model.Sex;
+import jakarta.persistence.Tuple;
+import java.util.Set;
+
+/**
+ * Builds a {@link PersonDto} straight from a projected row and its contacts, without a managed
+ * {@code Person} in between. The contact sets are handed over as they are, not copied.
+ */
+public enum PersonRowMapper {
+  INSTANCE;
+
+  public static final String NAME = "name";
+  public static final String SURNAME = "surname";
+  public static final String PIN = "pin";
+  public static final String SEX = "sex";
+
+  public PersonDto toDto(
+      final Tuple row, final Set<String> emailAddresses, final Set<String> phoneNumbers) {
+    PersonDto personDto = new PersonDto();
+    personDto.setName(row.get(NAME, String.class));
+    personDto.setSurname(row.get(SURNAME, String.class));
+    personDto.setPin(row.get(PIN, String.class));
+    personDto.setSex(row.get(SEX, Sex.class));
+    personDto.setEmailAddresses(emailAddresses);
+    personDto.setPhoneNumbers(phoneNumbers);
+    return personDto;
+  }
+}
@@ -3,17 +3,19 @@ package com.epavfra.task.mapper;
 import java.util.Collection;
 
 import com.epavfra.task.dto.AdditionalPhoneNumberDto;
+import com.epavfra.task.model.PhoneNumber;
 
-public enum PhoneNumberMapper implements Mapper<AdditionalPhoneNumberDto, Collection<String>> {
+public enum PhoneNumberMapper
+    implements Mapper<AdditionalPhoneNumberDto, Collection<PhoneNumber>> {
 
   INSTANCE;
   @Override
-  public AdditionalPhoneNumberDto toDto(Collection<String> entity) {
-    return new AdditionalPhoneNumberDto(entity);
+  public AdditionalPhoneNumberDto toDto(Collection<PhoneNumber> entity) {
+    return new AdditionalPhoneNumberDto(entity.stream().map(PhoneNumber::getNumber).toList());
   }
 
   @Override
-  public Collection<String> toEntity(AdditionalPhoneNumberDto dto) {
-    return dto.getPhoneNumbers();
+  public Collection<PhoneNumber> toEntity(AdditionalPhoneNumberDto dto) {
+    return dto.getPhoneNumbers().stream().map(PhoneNumber::of).toList();
   }
 }
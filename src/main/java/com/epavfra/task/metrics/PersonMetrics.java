@@ -0,0 +1,52 @@
+package com.epavfra.task.metrics;
+
+import com.epavfra.task.dto.PersonDto;
+import com.epavfra.task.mapper.PersonMapper;
+import com.epavfra.task.mapper.PersonRowMapper;
+import com.epavfra.task.model.Person;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.persistence.Tuple;
+import java.util.Set;
+import org.springframework.stereotype.Component;
+
+/**
+ * Times {@link PersonMapper} and {@link PersonRowMapper} conversions as the {@code
+ * person.mapping} timer.
+ */
+@Component
+public class PersonMetrics {
+
+  public static final String MAPPING_TIMER = "person.mapping";
+
+  private final Timer toDtoTimer;
+  private final Timer toEntityTimer;
+  private final Timer rowToDtoTimer;
+
+  public PersonMetrics(final MeterRegistry meterRegistry) {
+    this.toDtoTimer = mappingTimer(meterRegistry, "toDto");
+    this.toEntityTimer = mappingTimer(meterRegistry, "toEntity");
+    this.rowToDtoTimer = mappingTimer(meterRegistry, "rowToDto");
+  }
+
+  public PersonDto toDto(final Person person) {
+    return toDtoTimer.record(() -> PersonMapper.INSTANCE.toDto(person));
+  }
+
+  public Person toEntity(final PersonDto personDto) {
+    return toEntityTimer.record(() -> PersonMapper.INSTANCE.toEntity(personDto));
+  }
+
+  public PersonDto toDto(
+      final Tuple row, final Set<String> emailAddresses, final Set<String> phoneNumbers) {
+    return rowToDtoTimer.record(
+        () -> PersonRowMapper.INSTANCE.toDto(row, emailAddresses, phoneNumbers));
+  }
+
+  private static Timer mappingTimer(final MeterRegistry meterRegistry, final String direction) {
+    return Timer.builder(MAPPING_TIMER)
+        .description("Time spent mapping persons between entities, projected rows and DTOs")
+        .tag("direction", direction)
+        .register(meterRegistry);
+  }
+}
@@ -0,0 +1,63 @@
+package com.epavfra.task.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.retry.RetryCallback;
+import org.springframework.retry.RetryContext;
+import org.springframework.retry.listener.RetryListenerSupport;
+import org.springframework.stereotype.Component;
+
+/**
+ * Counts failed attempts of retried operations ({@code person.retry.attempts}), the
+ * optimistic-lock conflicts among them ({@code person.optimistic_lock.conflicts}) and calls that
+ * still failed after the last attempt ({@code person.retry.exhausted}), tagged by operation.
+ *
+ * <p>The registry is resolved lazily: the retry advisor instantiates this listener while bean
+ * post-processors are still being set up, and an eager registry would miss its meter filters.
+ */
+@Component(RetryMetricsListener.BEAN_NAME)
+public class RetryMetricsListener extends RetryListenerSupport {
+
+  public static final String BEAN_NAME = "retryMetricsListener";
+
+  private final ObjectProvider<MeterRegistry> meterRegistry;
+
+  public RetryMetricsListener(final ObjectProvider<MeterRegistry> meterRegistry) {
+    this.meterRegistry = meterRegistry;
+  }
+
+  @Override
+  public <T, E extends Throwable> void onError(
+      RetryContext context, RetryCallback<T, E> callback, Throwable throwable) {
+    String operation = operation(context);
+    MeterRegistry registry = meterRegistry.getObject();
+    registry
+        .counter(
+            "person.retry.attempts",
+            "operation",
+            operation,
+            "exception",
+            throwable.getClass().getSimpleName())
+        .increment();
+    if (throwable instanceof OptimisticLockingFailureException) {
+      registry.counter("person.optimistic_lock.conflicts", "operation", operation).increment();
+    }
+  }
+
+  @Override
+  public <T, E extends Throwable> void close(
+      RetryContext context, RetryCallback<T, E> callback, Throwable throwable) {
+    if (throwable != null) {
+      meterRegistry
+          .getObject()
+          .counter("person.retry.exhausted", "operation", operation(context))
+          .increment();
+    }
+  }
+
+  private static String operation(final RetryContext context) {
+    Object name = context.getAttribute(RetryContext.NAME);
+    return name == null ? "unknown" : name.toString();
+  }
+}
@@ -0,0 +1,112 @@
+package com.epavfra.task.migration;
+
+import com.epavfra.task.model.PhoneNumber;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import lombok.extern.slf4j.Slf4j;
+import org.flywaydb.core.api.MigrationVersion;
+import org.flywaydb.core.api.migration.Context;
+import org.flywaydb.core.api.migration.JavaMigration;
+import org.springframework.stereotype.Component;
+
+/**
+ * Migration V5: fills in the E.164 form and key of phone numbers stored before V4, with the same
+ * normalization as new writes. Rows are walked in (person_id, phone_number) order and each batch
+ * is committed on its own, so a large table is not updated in one long transaction and an
+ * interrupted run resumes with the rows still missing a key. Numbers that cannot be normalized
+ * keep a null key and are logged.
+ *
+ * <p>Spring Boot hands {@link JavaMigration} beans to Flyway.
+ */
+@Slf4j
+@Component
+public class PhoneNumberKeyBackfill implements JavaMigration {
+
+  static final int BATCH_SIZE = 1000;
+
+  private static final String SELECT_BATCH =
+      "SELECT person_id, phone_number FROM \"person_phone-numbers\" "
+          + "WHERE phone_number_key IS NULL "
+          + "AND (person_id > ? OR (person_id = ? AND phone_number > ?)) "
+          + "ORDER BY person_id, phone_number LIMIT ?";
+  private static final String UPDATE_ROW =
+      "UPDATE \"person_phone-numbers\" SET phone_number_e164 = ?, phone_number_key = ? "
+          + "WHERE person_id = ? AND phone_number = ?";
+
+  @Override
+  public MigrationVersion getVersion() {
+    return MigrationVersion.fromVersion("5");
+  }
+
+  @Override
+  public String getDescription() {
+    return "backfill phone number keys";
+  }
+
+  @Override
+  public Integer getChecksum() {
+    return null;
+  }
+
+  @Override
+  public boolean canExecuteInTransaction() {
+    return false;
+  }
+
+  @Override
+  public void migrate(final Context context) throws SQLException {
+    Connection connection = context.getConnection();
+    boolean autoCommit = connection.getAutoCommit();
+    connection.setAutoCommit(false);
+    long lastPersonId = Long.MIN_VALUE;
+    String lastPhoneNumber = "";
+    long updated = 0;
+    long invalid = 0;
+    try (PreparedStatement select = connection.prepareStatement(SELECT_BATCH);
+        PreparedStatement update = connection.prepareStatement(UPDATE_ROW)) {
+      int rows;
+      do {
+        select.setLong(1, lastPersonId);
+        select.setLong(2, lastPersonId);
+        select.setString(3, lastPhoneNumber);
+        select.setInt(4, BATCH_SIZE);
+        rows = 0;
+        try (ResultSet resultSet = select.executeQuery()) {
+          while (resultSet.next()) {
+            rows++;
+            lastPersonId = resultSet.getLong(1);
+            lastPhoneNumber = resultSet.getString(2);
+            PhoneNumber phoneNumber;
+            try {
+              phoneNumber = PhoneNumber.of(lastPhoneNumber);
+            } catch (IllegalArgumentException e) {
+              invalid++;
+              log.warn(
+                  "Person {} has a phone number that is not E.164: {}",
+                  lastPersonId,
+                  lastPhoneNumber);
+              continue;
+            }
+            update.setString(1, phoneNumber.getE164());
+            update.setLong(2, phoneNumber.getNumericKey());
+            update.setLong(3, lastPersonId);
+            update.setString(4, lastPhoneNumber);
+            update.addBatch();
+            updated++;
+          }
+        }
+        update.executeBatch();
+        connection.commit();
+      } while (rows == BATCH_SIZE);
+    } catch (SQLException e) {
+      connection.rollback();
+      throw e;
+    } finally {
+      connection.setAutoCommit(autoCommit);
+    }
+    log.info(
+        "Backfilled {} phone number keys, {} numbers could not be normalized", updated, invalid);
+  }
+}
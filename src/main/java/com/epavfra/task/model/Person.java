@@ -9,7 +9,9 @@ import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
 import java.util.Collection;
 import java.util.HashSet;
 import java.util.Set;
@@ -17,6 +19,9 @@ import java.util.Set;
 import jakarta.persistence.Version;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
 
 @Entity
 @NoArgsConstructor
@@ -24,8 +29,24 @@ import lombok.NoArgsConstructor;
 @Table(name = "person")
 public class Person {
 
+  /**
+   * Number of persons whose contact collections are initialized by a single select, so list
+   * queries need a bounded number of round trips instead of two extra selects per person.
+   */
+  public static final int CONTACTS_BATCH_SIZE = 500;
+
+  /**
+   * Ids are allocated from a pooled sequence rather than an identity column so Hibernate can
+   * batch inserts: one sequence call reserves ids for this many persons.
+   */
+  public static final int ID_ALLOCATION_SIZE = 50;
+
   @Id
-  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "person_seq")
+  @SequenceGenerator(
+      name = "person_seq",
+      sequenceName = "person_seq",
+      allocationSize = ID_ALLOCATION_SIZE)
   private Long id;
 
   @Column(name = "name", nullable = false)
@@ -37,15 +58,25 @@ public class Person {
   @Column(name = "pin", nullable = false, unique = true, length = 11)
   private String pin;
 
-  @Enumerated private Sex sex;
+  // PostgreSQL has no tinyint; pin the ordinal column to the smallint it is stored as there.
+  @Enumerated
+  @JdbcTypeCode(SqlTypes.SMALLINT)
+  private Sex sex;
 
   @ElementCollection
-  @CollectionTable(name = "person_phone-numbers", joinColumns = @JoinColumn(name = "person_id"))
-  @Column(name = "phone_number")
-  private final Set<String> phoneNumbers = new HashSet<>();
+  @BatchSize(size = CONTACTS_BATCH_SIZE)
+  @CollectionTable(
+      name = "person_phone-numbers",
+      joinColumns = @JoinColumn(name = "person_id"),
+      uniqueConstraints = @UniqueConstraint(columnNames = {"person_id", "phone_number_key"}))
+  private final Set<PhoneNumber> phoneNumbers = new HashSet<>();
 
   @ElementCollection
-  @CollectionTable(name = "person_email_addresses", joinColumns = @JoinColumn(name = "person_id"))
+  @BatchSize(size = CONTACTS_BATCH_SIZE)
+  @CollectionTable(
+      name = "person_email_addresses",
+      joinColumns = @JoinColumn(name = "person_id"),
+      uniqueConstraints = @UniqueConstraint(columnNames = {"person_id", "email_address"}))
   @Column(name = "email_address")
   private final Set<String> emailAddresses = new HashSet<>();
 
@@ -56,7 +87,7 @@ public class Person {
     private final String surname;
     private final String pin;
     private final Sex sex;
-    private final Set<String> phoneNumbers = new HashSet<>();
+    private final Set<PhoneNumber> phoneNumbers = new HashSet<>();
     private final Set<String> emailAddresses = new HashSet<>();
 
     public Builder(final String name, final String surname, final String pin, final Sex sex) {
@@ -66,8 +97,9 @@ public class Person {
       this.sex = sex;
     }
 
+    /** Numbers are normalized; of several forms of the same number, the first one is kept. */
     public Builder addPhoneNumbers(Collection<String> phoneNumbers) {
-      this.phoneNumbers.addAll(phoneNumbers);
+      phoneNumbers.forEach(phoneNumber -> this.phoneNumbers.add(PhoneNumber.of(phoneNumber)));
       return this;
     }
 
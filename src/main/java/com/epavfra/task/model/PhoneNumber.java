@@ -0,0 +1,88 @@
+package com.epavfra.task.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import java.util.Objects;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * A phone number as it was entered, together with its canonical E.164 form and a numeric key. The
+ * key is the E.164 digits read as a number: at most 15 digits fit in a {@code long}, and it
+ * identifies the number regardless of how it was written, so "+385-1234567" and "385-123 4567" are
+ * equal and stored once per person.
+ */
+@Embeddable
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class PhoneNumber {
+
+  /** Up to 15 digits, the first of which is not 0, with any separators in between. */
+  public static final String E164_DIGITS_PATTERN = "^\\D*[1-9]\\D*(\\d\\D*){0,14}$";
+
+  private static final int MAX_DIGITS = 15;
+
+  @Column(name = "phone_number", nullable = false)
+  private String number;
+
+  @Column(name = "phone_number_e164", length = MAX_DIGITS + 1)
+  private String e164;
+
+  // Null only for rows the backfill could not normalize.
+  @Column(name = "phone_number_key")
+  private Long numericKey;
+
+  private PhoneNumber(final String number, final String e164) {
+    this.number = number;
+    this.e164 = e164;
+    this.numericKey = Long.parseLong(e164, 1, e164.length(), 10);
+  }
+
+  /** Throws {@link IllegalArgumentException} when the value is not a possible E.164 number. */
+  public static PhoneNumber of(final String number) {
+    return new PhoneNumber(number, toE164(number));
+  }
+
+  /**
+   * Keeps only the digits and prefixes them with "+". The country code is taken to be part of the
+   * value, with or without a leading "+".
+   */
+  public static String toE164(final String number) {
+    StringBuilder e164 = new StringBuilder(MAX_DIGITS + 1).append('+');
+    for (int i = 0; i < number.length(); i++) {
+      char c = number.charAt(i);
+      if (c >= '0' && c <= '9') {
+        e164.append(c);
+      }
+    }
+    if (e164.length() < 2 || e164.length() > MAX_DIGITS + 1 || e164.charAt(1) == '0') {
+      throw new IllegalArgumentException("Not an E.164 phone number: " + number);
+    }
+    return e164.toString();
+  }
+
+  /** Numbers are equal by key; rows without a key fall back to the original text. */
+  @Override
+  public boolean equals(final Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (!(o instanceof PhoneNumber other)) {
+      return false;
+    }
+    return numericKey == null
+        ? other.numericKey == null && Objects.equals(number, other.number)
+        : numericKey.equals(other.numericKey);
+  }
+
+  @Override
+  public int hashCode() {
+    return numericKey == null ? Objects.hashCode(number) : numericKey.hashCode();
+  }
+
+  @Override
+  public String toString() {
+    return number;
+  }
+}
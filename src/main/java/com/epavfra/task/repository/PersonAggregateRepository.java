@@ -0,0 +1,159 @@
+package com.epavfra.task.repository;
+
+import com.epavfra.task.model.Person;
+import com.epavfra.task.model.Sex;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Root;
+import java.sql.DatabaseMetaData;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.TreeMap;
+import javax.sql.DataSource;
+import org.hibernate.query.criteria.JpaCriteriaQuery;
+import org.hibernate.query.criteria.JpaDerivedJoin;
+import org.hibernate.query.criteria.JpaRoot;
+import org.hibernate.query.criteria.JpaSubQuery;
+import org.hibernate.query.sqm.tree.SqmJoinType;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Counts persons grouped in the database, so callers never have to download the rows just to
+ * count them. Every facet honours the same {@link Specification} as the list endpoints.
+ */
+@Repository
+public class PersonAggregateRepository {
+
+  private static final String PERSON_ID = "personId";
+  private static final String CONTACTS = "contacts";
+  private static final String ESTIMATED_ROW_COUNT =
+      "SELECT reltuples::bigint FROM pg_class WHERE oid = to_regclass('person')";
+
+  /** The expression persons are grouped by, which may add joins to the query. */
+  @FunctionalInterface
+  private interface GroupKey {
+    Expression<?> apply(
+        CriteriaQuery<Tuple> query, Root<Person> root, CriteriaBuilder criteriaBuilder);
+  }
+
+  private final EntityManager entityManager;
+  private final JdbcTemplate jdbcTemplate;
+  private final DataSource dataSource;
+  private volatile Boolean postgres;
+
+  public PersonAggregateRepository(
+      final EntityManager entityManager,
+      final JdbcTemplate jdbcTemplate,
+      final DataSource dataSource) {
+    this.entityManager = entityManager;
+    this.jdbcTemplate = jdbcTemplate;
+    this.dataSource = dataSource;
+  }
+
+  public Map<Sex, Long> countBySex(final Specification<Person> spec) {
+    return countBy(
+        spec, (query, root, criteriaBuilder) -> root.get("sex"), new EnumMap<>(Sex.class));
+  }
+
+  public Map<String, Long> countBySurnamePrefix(
+      final Specification<Person> spec, final int prefixLength) {
+    return countBy(
+        spec,
+        (query, root, criteriaBuilder) ->
+            criteriaBuilder.upper(criteriaBuilder.substring(root.get("surname"), 1, prefixLength)),
+        new TreeMap<>());
+  }
+
+  /**
+   * Contacts are counted once per collection in {@code GROUP BY person_id} subqueries that are
+   * left-joined to the persons, rather than by a correlated count per person and collection.
+   */
+  public Map<Integer, Long> countByContactCount(final Specification<Person> spec) {
+    return countBy(
+        spec,
+        (query, root, criteriaBuilder) ->
+            criteriaBuilder
+                .sum(
+                    criteriaBuilder.coalesce(
+                        contactCount(query, root, criteriaBuilder, "emailAddresses"),
+                        criteriaBuilder.literal(0L)),
+                    criteriaBuilder.coalesce(
+                        contactCount(query, root, criteriaBuilder, "phoneNumbers"),
+                        criteriaBuilder.literal(0L)))
+                .as(Integer.class),
+        new TreeMap<>());
+  }
+
+  private static Expression<Long> contactCount(
+      final CriteriaQuery<Tuple> query,
+      final Root<Person> root,
+      final CriteriaBuilder criteriaBuilder,
+      final String collection) {
+    JpaSubQuery<Tuple> counts = ((JpaCriteriaQuery<Tuple>) query).subquery(Tuple.class);
+    JpaRoot<Person> owner = counts.from(Person.class);
+    owner.join(collection);
+    counts
+        .multiselect(
+            owner.get("id").alias(PERSON_ID),
+            criteriaBuilder.count(owner).alias(CONTACTS))
+        .groupBy(owner.get("id"));
+    JpaDerivedJoin<Tuple> join = ((JpaRoot<Person>) root).join(counts, SqmJoinType.LEFT);
+    join.on(criteriaBuilder.equal(join.get(PERSON_ID), root.get("id")));
+    return join.get(CONTACTS);
+  }
+
+  /**
+   * Row count of the person table as last recorded by ANALYZE or autovacuum. Empty on databases
+   * other than PostgreSQL and while the table has never been analyzed.
+   */
+  public OptionalLong estimateTotal() {
+    if (!isPostgres()) {
+      return OptionalLong.empty();
+    }
+    Long estimate = jdbcTemplate.queryForObject(ESTIMATED_ROW_COUNT, Long.class);
+    return estimate == null || estimate < 0 ? OptionalLong.empty() : OptionalLong.of(estimate);
+  }
+
+  @SuppressWarnings("unchecked")
+  private <K> Map<K, Long> countBy(
+      final Specification<Person> spec,
+      final GroupKey key,
+      final Map<K, Long> counts) {
+    CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+    CriteriaQuery<Tuple> query = criteriaBuilder.createTupleQuery();
+    Root<Person> root = query.from(Person.class);
+    Expression<?> group = key.apply(query, root, criteriaBuilder);
+    query
+        .multiselect(group, criteriaBuilder.count(root))
+        .where(spec.toPredicate(root, query, criteriaBuilder))
+        .groupBy(group);
+    for (Tuple row : entityManager.createQuery(query).getResultList()) {
+      if (row.get(0) != null) {
+        counts.put((K) row.get(0), row.get(1, Long.class));
+      }
+    }
+    return counts;
+  }
+
+  private boolean isPostgres() {
+    if (postgres == null) {
+      try {
+        String product =
+            JdbcUtils.extractDatabaseMetaData(
+                dataSource, DatabaseMetaData::getDatabaseProductName);
+        postgres = "PostgreSQL".equalsIgnoreCase(product);
+      } catch (MetaDataAccessException e) {
+        postgres = false;
+      }
+    }
+    return postgres;
+  }
+}
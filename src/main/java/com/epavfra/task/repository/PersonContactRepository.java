@@ -0,0 +1,103 @@
+package com.epavfra.task.repository;
+
+import com.epavfra.task.model.PhoneNumber;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Appends contacts straight into the collection tables. Each value is inserted only if the person
+ * does not have it yet, relying on the (person_id, value) unique constraints, so concurrent appends
+ * never have to read and rewrite the whole collection.
+ */
+@Repository
+public class PersonContactRepository {
+
+  private static final String INSERT_EMAIL_ADDRESS =
+      "INSERT INTO person_email_addresses (person_id, email_address) VALUES (?, ?) "
+          + "ON CONFLICT DO NOTHING";
+  private static final String INSERT_PHONE_NUMBER =
+      "INSERT INTO \"person_phone-numbers\" "
+          + "(person_id, phone_number, phone_number_e164, phone_number_key) VALUES (?, ?, ?, ?) "
+          + "ON CONFLICT DO NOTHING";
+
+  private final JdbcTemplate jdbcTemplate;
+
+  public PersonContactRepository(final JdbcTemplate jdbcTemplate) {
+    this.jdbcTemplate = jdbcTemplate;
+  }
+
+  /**
+   * Returns the email addresses that were not stored for the person before, or nothing when the
+   * driver did not report which rows it inserted.
+   */
+  public Optional<List<String>> appendEmailAddresses(
+      final Long personId, final Collection<String> emailAddresses) {
+    return appendAll(
+        INSERT_EMAIL_ADDRESS,
+        personId,
+        emailAddresses,
+        (statement, emailAddress) -> statement.setString(2, emailAddress));
+  }
+
+  /**
+   * Like {@link #appendEmailAddresses}, for phone numbers. Numbers are compared by key, so another
+   * form of a stored number is not added.
+   */
+  public Optional<List<PhoneNumber>> appendPhoneNumbers(
+      final Long personId, final Collection<PhoneNumber> phoneNumbers) {
+    return appendAll(
+        INSERT_PHONE_NUMBER,
+        personId,
+        phoneNumbers,
+        (statement, phoneNumber) -> {
+          statement.setString(2, phoneNumber.getNumber());
+          statement.setString(3, phoneNumber.getE164());
+          statement.setLong(4, phoneNumber.getNumericKey());
+        });
+  }
+
+  /**
+   * Per-row update counts tell which values were new. A driver that rewrites the batch into one
+   * multi-row insert (pgjdbc with {@code reWriteBatchedInserts=true}) reports {@link
+   * Statement#SUCCESS_NO_INFO} instead, and then the result is empty.
+   */
+  private <T> Optional<List<T>> appendAll(
+      final String sql,
+      final Long personId,
+      final Collection<T> values,
+      final ParameterizedPreparedStatementSetter<T> valueSetter) {
+    if (values == null || values.isEmpty()) {
+      return Optional.of(List.of());
+    }
+    List<T> distinctValues = values.stream().distinct().toList();
+    int[][] updateCounts =
+        jdbcTemplate.batchUpdate(
+            sql,
+            distinctValues,
+            distinctValues.size(),
+            (statement, value) -> {
+              statement.setLong(1, personId);
+              valueSetter.setValues(statement, value);
+            });
+    List<T> inserted = new ArrayList<>();
+    int index = 0;
+    for (int[] batch : updateCounts) {
+      for (int count : batch) {
+        if (count == Statement.SUCCESS_NO_INFO) {
+          return Optional.empty();
+        }
+        if (count > 0) {
+          inserted.add(distinctValues.get(index));
+        }
+        index++;
+      }
+    }
+    return Optional.of(inserted);
+  }
+}
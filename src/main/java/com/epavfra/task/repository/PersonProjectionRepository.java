@@ -0,0 +1,172 @@
+package com.epavfra.task.repository;
+
+import com.epavfra.task.dto.PersonDto;
+import com.epavfra.task.mapper.PersonRowMapper;
+import com.epavfra.task.metrics.PersonMetrics;
+import com.epavfra.task.model.Person;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Root;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Read paths that select columns instead of entities. Persons are projected into {@link PersonDto}
+ * directly, and their contacts are fetched by id in batches of {@link Person#CONTACTS_BATCH_SIZE},
+ * so no entity is managed, snapshotted for dirty checking or mapped a second time. Callers are
+ * expected to run inside a read-only transaction.
+ */
+@Repository
+public class PersonProjectionRepository {
+
+  private static final String ID = "id";
+  private static final String VERSION = "version";
+
+  private static final String EMAIL_ADDRESSES_BY_PERSON_IDS =
+      "select p.id, e from Person p join p.emailAddresses e where p.id in :ids";
+  private static final String PHONE_NUMBERS_BY_PERSON_IDS =
+      "select p.id, n.number from Person p join p.phoneNumbers n where p.id in :ids";
+
+  private static final String PERSONS_WHERE_ID_IN =
+      "select p.id as id, p.version as version, p.name as name, p.surname as surname, "
+          + "p.pin as pin, p.sex as sex from Person p where p.id in (%s) order by p.id";
+  private static final String IDS_BY_EMAIL_ADDRESS_LIKE =
+      "select q.id from Person q join q.emailAddresses e "
+          + "where lower(e) like :pattern escape '\\' order by lower(e) limit :maxResults";
+  private static final String IDS_BY_PHONE_NUMBER_KEY =
+      "select q.id from Person q join q.phoneNumbers n "
+          + "where n.numericKey = :numericKey order by q.id limit :maxResults";
+  private static final String IDS_BY_PHONE_NUMBER_E164_LIKE =
+      "select q.id from Person q join q.phoneNumbers n "
+          + "where n.e164 like :pattern escape '\\' order by n.e164 limit :maxResults";
+
+  /** A projected person together with the columns the caller needs besides the DTO. */
+  public record PersonRow(Long id, Integer version, PersonDto person) {}
+
+  private final EntityManager entityManager;
+  private final PersonMetrics personMetrics;
+
+  public PersonProjectionRepository(
+      final EntityManager entityManager, final PersonMetrics personMetrics) {
+    this.entityManager = entityManager;
+    this.personMetrics = personMetrics;
+  }
+
+  /** Matching persons in id order, at most {@code limit} of them when a limit is given. */
+  public List<PersonRow> findAll(final Specification<Person> spec, final Integer limit) {
+    CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+    CriteriaQuery<Tuple> query = criteriaBuilder.createTupleQuery();
+    Root<Person> root = query.from(Person.class);
+    query
+        .multiselect(
+            root.get(ID).alias(ID),
+            root.get(VERSION).alias(VERSION),
+            root.get(PersonRowMapper.NAME).alias(PersonRowMapper.NAME),
+            root.get(PersonRowMapper.SURNAME).alias(PersonRowMapper.SURNAME),
+            root.get(PersonRowMapper.PIN).alias(PersonRowMapper.PIN),
+            root.get(PersonRowMapper.SEX).alias(PersonRowMapper.SEX))
+        .orderBy(criteriaBuilder.asc(root.get(ID)));
+    if (spec != null) {
+      query.where(spec.toPredicate(root, query, criteriaBuilder));
+    }
+    TypedQuery<Tuple> typedQuery = entityManager.createQuery(query);
+    if (limit != null) {
+      typedQuery.setMaxResults(limit);
+    }
+    return toRows(typedQuery.getResultList());
+  }
+
+  public Optional<PersonRow> findById(final Long id) {
+    Specification<Person> byId =
+        (root, query, criteriaBuilder) -> criteriaBuilder.equal(root.get(ID), id);
+    return findAll(byId, null).stream().findFirst();
+  }
+
+  public Optional<PersonRow> findByPin(final String pin) {
+    Specification<Person> byPin =
+        (root, query, criteriaBuilder) -> criteriaBuilder.equal(root.get(PersonRowMapper.PIN), pin);
+    return findAll(byPin, null).stream().findFirst();
+  }
+
+  /**
+   * Persons owning an email address whose lower-cased value is like {@code pattern} (escaped with
+   * a backslash), in id order. The subquery walks the lower(email_address) index in value order and
+   * stops after {@code maxResults} matches, so a broad prefix costs no more than a narrow one. The
+   * contacts follow in one statement per collection, as fetching both in the same query would
+   * return every email address once per phone number.
+   */
+  public List<PersonRow> findByEmailAddressLike(final String pattern, final int maxResults) {
+    return toRows(
+        personsWhereIdIn(IDS_BY_EMAIL_ADDRESS_LIKE, maxResults)
+            .setParameter("pattern", pattern)
+            .getResultList());
+  }
+
+  /** Like {@link #findByEmailAddressLike}, for owners of the phone number with this key. */
+  public List<PersonRow> findByPhoneNumberKey(final long numericKey, final int maxResults) {
+    return toRows(
+        personsWhereIdIn(IDS_BY_PHONE_NUMBER_KEY, maxResults)
+            .setParameter("numericKey", numericKey)
+            .getResultList());
+  }
+
+  /** Like {@link #findByEmailAddressLike}, matching the E.164 form of phone numbers. */
+  public List<PersonRow> findByPhoneNumberE164Like(final String pattern, final int maxResults) {
+    return toRows(
+        personsWhereIdIn(IDS_BY_PHONE_NUMBER_E164_LIKE, maxResults)
+            .setParameter("pattern", pattern)
+            .getResultList());
+  }
+
+  private TypedQuery<Tuple> personsWhereIdIn(final String idSubquery, final int maxResults) {
+    return entityManager
+        .createQuery(PERSONS_WHERE_ID_IN.formatted(idSubquery), Tuple.class)
+        .setParameter("maxResults", maxResults);
+  }
+
+  private List<PersonRow> toRows(final List<Tuple> tuples) {
+    if (tuples.isEmpty()) {
+      return List.of();
+    }
+    List<Long> ids = tuples.stream().map(tuple -> tuple.get(ID, Long.class)).toList();
+    Map<Long, Set<String>> emailAddresses = findContacts(EMAIL_ADDRESSES_BY_PERSON_IDS, ids);
+    Map<Long, Set<String>> phoneNumbers = findContacts(PHONE_NUMBERS_BY_PERSON_IDS, ids);
+    List<PersonRow> rows = new ArrayList<>(tuples.size());
+    for (Tuple tuple : tuples) {
+      Long id = tuple.get(ID, Long.class);
+      PersonDto personDto =
+          personMetrics.toDto(
+              tuple,
+              emailAddresses.getOrDefault(id, new HashSet<>()),
+              phoneNumbers.getOrDefault(id, new HashSet<>()));
+      rows.add(new PersonRow(id, tuple.get(VERSION, Integer.class), personDto));
+    }
+    return rows;
+  }
+
+  private Map<Long, Set<String>> findContacts(final String jpql, final List<Long> ids) {
+    Map<Long, Set<String>> contacts = new HashMap<>();
+    for (int from = 0; from < ids.size(); from += Person.CONTACTS_BATCH_SIZE) {
+      List<Long> chunk = ids.subList(from, Math.min(from + Person.CONTACTS_BATCH_SIZE, ids.size()));
+      List<Object[]> rows =
+          entityManager
+              .createQuery(jpql, Object[].class)
+              .setParameter("ids", chunk)
+              .getResultList();
+      for (Object[] row : rows) {
+        contacts.computeIfAbsent((Long) row[0], id -> new HashSet<>()).add((String) row[1]);
+      }
+    }
+    return contacts;
+  }
+}
@@ -1,8 +1,51 @@
 package com.epavfra.task.repository;
 
 import com.epavfra.task.model.Person;
+import jakarta.persistence.QueryHint;
+import java.util.Collection;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
 public interface PersonRepository
-    extends JpaRepository<Person, Long>, JpaSpecificationExecutor<Person> {}
+    extends JpaRepository<Person, Long>, JpaSpecificationExecutor<Person> {
+
+  String STREAM_FETCH_SIZE = "500";
+
+  /** Must be consumed inside a transaction and closed by the caller. */
+  @QueryHints({
+    @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE),
+    @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+  })
+  @Query("select p from Person p order by p.id")
+  Stream<Person> streamAllOrderedById();
+
+  /**
+   * Bumps the version in place without reading the person first. Returns 0 when the person does
+   * not exist, which doubles as the existence check of the contact append path.
+   */
+  @Modifying(flushAutomatically = true, clearAutomatically = true)
+  @Query("update Person p set p.version = p.version + 1 where p.id = :id")
+  int incrementVersion(@Param("id") Long id);
+
+  /** Reads only the version column, for conditional requests that must not load contacts. */
+  @Query("select p.version from Person p where p.id = :id")
+  Optional<Integer> findVersionById(@Param("id") Long id);
+
+  /** Must be consumed inside a transaction and closed by the caller. */
+  @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE))
+  @Query("select p.pin from Person p")
+  Stream<String> streamAllPins();
+
+  boolean existsByPin(String pin);
+
+  @Query("select p.pin from Person p where p.pin in :pins")
+  Set<String> findExistingPins(@Param("pins") Collection<String> pins);
+}
@@ -1,24 +1,71 @@
 package com.epavfra.task.service;
 
 import java.util.Collection;
+import java.util.List;
+import java.util.function.Consumer;
 
 import com.epavfra.task.dto.AdditionalEmailRequestDto;
 import com.epavfra.task.dto.AdditionalPhoneNumberDto;
+import com.epavfra.task.dto.BatchCreateResultDto;
+import com.epavfra.task.dto.PersonAggregatesDto;
 import com.epavfra.task.dto.PersonDto;
+import com.epavfra.task.dto.PersonPageDto;
 import com.epavfra.task.exception.PersonNotFoundException;
 import com.epavfra.task.model.Person;
 import com.epavfra.task.model.Sex;
+import com.epavfra.task.utils.specification.ContactMatchMode;
+import com.epavfra.task.utils.specification.MatchMode;
 import jakarta.transaction.Transactional;
 
 public interface PersonService {
+  /** Matching persons with the version tag computed from the same rows. */
+  record VersionedPersons(String versionTag, Collection<PersonDto> persons) {}
+
   Collection<PersonDto> getAllPersons();
 
-  Collection<PersonDto> filterPersons(final String name, final String surname, final String sex);
+  Collection<PersonDto> filterPersons(
+      final String name, final String surname, final String sex, final MatchMode matchMode);
+
+  VersionedPersons filterPersonsWithVersionTag(
+      final String name, final String surname, final String sex, final MatchMode matchMode);
+
+  PersonPageDto filterPersonsPage(
+      final String name,
+      final String surname,
+      final String sex,
+      final MatchMode matchMode,
+      final String cursor,
+      final int limit);
+
+  PersonAggregatesDto aggregatePersons(
+      final String name,
+      final String surname,
+      final String sex,
+      final MatchMode matchMode,
+      final int surnamePrefixLength,
+      final boolean estimate);
+
+  void forEachPerson(final Consumer<PersonDto> consumer);
 
   PersonDto getPersonById(final Long id) throws PersonNotFoundException;
 
+  PersonDto getPersonByPin(final String pin) throws PersonNotFoundException;
+
+  Collection<PersonDto> findByEmailAddress(
+      final String emailAddress, final ContactMatchMode matchMode, final int limit);
+
+  Collection<PersonDto> findByPhoneNumber(
+      final String phoneNumber, final ContactMatchMode matchMode, final int limit);
+
+  Integer getPersonVersion(final Long id) throws PersonNotFoundException;
+
+  String getPersonsVersionTag(
+      final String name, final String surname, final String sex, final MatchMode matchMode);
+
   PersonDto createPerson(final PersonDto personDto);
 
+  BatchCreateResultDto createPersons(final List<PersonDto> personDtos);
+
   PersonDto addEmailAddresses(final Long id, final AdditionalEmailRequestDto emailAddresses)
       throws PersonNotFoundException;
 
@@ -1,100 +1,677 @@
 package com.epavfra.task.service;
 
+import com.epavfra.task.cache.PersonCache;
+import com.epavfra.task.cache.PersonPinFilter;
 import com.epavfra.task.dto.AdditionalEmailRequestDto;
 import com.epavfra.task.dto.AdditionalPhoneNumberDto;
+import com.epavfra.task.dto.BatchCreateResultDto;
+import com.epavfra.task.dto.BatchItemResultDto;
+import com.epavfra.task.dto.PersonAggregatesDto;
 import com.epavfra.task.dto.PersonDto;
+import com.epavfra.task.dto.PersonPageDto;
+import com.epavfra.task.events.PersonChangeEvent;
+import com.epavfra.task.events.PersonChangeFeed;
+import com.epavfra.task.exception.DuplicatePinException;
+import com.epavfra.task.exception.InvalidAggregateRequestException;
+import com.epavfra.task.exception.InvalidBatchRequestException;
+import com.epavfra.task.exception.InvalidLookupRequestException;
+import com.epavfra.task.exception.InvalidPageRequestException;
 import com.epavfra.task.exception.PersonNotFoundException;
 import com.epavfra.task.mapper.EmailMapper;
-import com.epavfra.task.mapper.PersonMapper;
 import com.epavfra.task.mapper.PhoneNumberMapper;
+import com.epavfra.task.metrics.PersonMetrics;
+import com.epavfra.task.metrics.RetryMetricsListener;
 import com.epavfra.task.model.Person;
+import com.epavfra.task.model.PhoneNumber;
+import com.epavfra.task.model.Sex;
+import com.epavfra.task.repository.PersonAggregateRepository;
+import com.epavfra.task.repository.PersonContactRepository;
+import com.epavfra.task.repository.PersonProjectionRepository;
+import com.epavfra.task.repository.PersonProjectionRepository.PersonRow;
 import com.epavfra.task.repository.PersonRepository;
+import com.epavfra.task.snapshot.PersonSnapshot;
+import com.epavfra.task.utils.pagination.PersonCursor;
+import com.epavfra.task.utils.specification.ContactMatchMode;
+import com.epavfra.task.utils.specification.MatchMode;
 import com.epavfra.task.utils.specification.PersonSpecification;
-import jakarta.transaction.Transactional;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Root;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.data.jpa.domain.Specification;
-import org.springframework.retry.annotation.Backoff;
-import org.springframework.retry.annotation.Retryable;
+import org.springframework.retry.RetryContext;
+import org.springframework.retry.support.RetryTemplate;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 @Service
 public class PersonServiceImpl implements PersonService {
 
+  static final int MAX_PAGE_LIMIT = 500;
+  static final int MAX_BATCH_SIZE = 10_000;
+  static final int BATCH_INSERT_CHUNK_SIZE = 500;
+  static final int MAX_SURNAME_PREFIX_LENGTH = 3;
+  static final int MAX_LOOKUP_LIMIT = 500;
+  private static final String EMAIL_ADDRESSES_FIELD = "emailAddresses";
+  private static final String PHONE_NUMBERS_FIELD = "phoneNumbers";
+
   private final PersonRepository personRepository;
+  private final PersonContactRepository personContactRepository;
+  private final PersonProjectionRepository personProjectionRepository;
+  private final PersonAggregateRepository personAggregateRepository;
+  private final EntityManager entityManager;
+  private final PersonCache personCache;
+  private final PersonPinFilter personPinFilter;
+  private final PersonChangeFeed personChangeFeed;
+  private final PersonMetrics personMetrics;
+  private final PersonSnapshot personSnapshot;
+  private final Validator validator;
+  private final TransactionTemplate transactionTemplate;
+  private final TransactionTemplate readOnlyTransactionTemplate;
+  private final RetryTemplate conflictRetryTemplate;
+  private final boolean contactAppendMode;
 
-  public PersonServiceImpl(final PersonRepository personRepository) {
+  public PersonServiceImpl(
+      final PersonRepository personRepository,
+      final PersonContactRepository personContactRepository,
+      final PersonProjectionRepository personProjectionRepository,
+      final PersonAggregateRepository personAggregateRepository,
+      final EntityManager entityManager,
+      final PersonCache personCache,
+      final PersonPinFilter personPinFilter,
+      final PersonChangeFeed personChangeFeed,
+      final PersonMetrics personMetrics,
+      final PersonSnapshot personSnapshot,
+      final Validator validator,
+      final PlatformTransactionManager transactionManager,
+      final RetryMetricsListener retryMetricsListener,
+      @Value("${person.contacts.append-mode:true}") final boolean contactAppendMode) {
     this.personRepository = personRepository;
+    this.personContactRepository = personContactRepository;
+    this.personProjectionRepository = personProjectionRepository;
+    this.personAggregateRepository = personAggregateRepository;
+    this.entityManager = entityManager;
+    this.personCache = personCache;
+    this.personPinFilter = personPinFilter;
+    this.personChangeFeed = personChangeFeed;
+    this.personMetrics = personMetrics;
+    this.personSnapshot = personSnapshot;
+    this.validator = validator;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.readOnlyTransactionTemplate = new TransactionTemplate(transactionManager);
+    this.readOnlyTransactionTemplate.setReadOnly(true);
+    this.conflictRetryTemplate =
+        RetryTemplate.builder()
+            .maxAttempts(3)
+            .fixedBackoff(1000)
+            .retryOn(OptimisticLockingFailureException.class)
+            .withListener(retryMetricsListener)
+            .build();
+    this.contactAppendMode = contactAppendMode;
   }
 
+  /** Not transactional itself: an answer from the snapshot must not take a connection. */
   @Override
   public Collection<PersonDto> getAllPersons() {
-    Collection<Person> persons = personRepository.findAll();
-    return persons.stream().map(PersonMapper.INSTANCE::toDto).collect(Collectors.toSet());
+    return filterPersons(null, null, null, MatchMode.CONTAINS);
   }
 
   @Override
   public Collection<PersonDto> filterPersons(
-      final String name, final String surname, final String sex) {
-    Specification<Person> spec = PersonSpecification.filterByCriteria(name, surname, sex);
-    return personRepository.findAll(spec).stream()
-        .map(PersonMapper.INSTANCE::toDto)
-        .collect(Collectors.toSet());
+      final String name, final String surname, final String sex, final MatchMode matchMode) {
+    return filterRows(name, surname, sex, matchMode).stream().map(PersonRow::person).toList();
+  }
+
+  /** Not transactional itself, like {@link #filterPersons}. */
+  @Override
+  public VersionedPersons filterPersonsWithVersionTag(
+      final String name, final String surname, final String sex, final MatchMode matchMode) {
+    List<PersonRow> rows = filterRows(name, surname, sex, matchMode);
+    return new VersionedPersons(
+        versionTag(addRow -> rows.forEach(row -> addRow.accept(row.id(), row.version()))),
+        rows.stream().map(PersonRow::person).toList());
+  }
+
+  private List<PersonRow> filterRows(
+      final String name, final String surname, final String sex, final MatchMode matchMode) {
+    Sex sexFilter = PersonSpecification.parseSex(sex);
+    if (personSnapshot.isReady()) {
+      return personSnapshot.filterRows(name, surname, sexFilter, matchMode);
+    }
+    Specification<Person> spec =
+        PersonSpecification.filterByCriteria(name, surname, sex, matchMode);
+    return readOnlyTransactionTemplate.execute(
+        status -> personProjectionRepository.findAll(spec, null));
+  }
+
+  @Override
+  @Transactional(readOnly = true)
+  public PersonPageDto filterPersonsPage(
+      final String name,
+      final String surname,
+      final String sex,
+      final MatchMode matchMode,
+      final String cursor,
+      final int limit) {
+    if (limit < 1 || limit > MAX_PAGE_LIMIT) {
+      throw new InvalidPageRequestException(
+          "Page limit must be between 1 and " + MAX_PAGE_LIMIT + ", got " + limit);
+    }
+    Specification<Person> spec =
+        PersonSpecification.filterByCriteria(name, surname, sex, matchMode)
+            .and(PersonSpecification.idGreaterThan(PersonCursor.decode(cursor)));
+    // One extra row tells us whether another page exists without issuing a count query.
+    List<PersonRow> rows = personProjectionRepository.findAll(spec, limit + 1);
+    boolean hasNext = rows.size() > limit;
+    List<PersonRow> pageContent = hasNext ? rows.subList(0, limit) : rows;
+    String next = hasNext ? PersonCursor.encode(pageContent.get(limit - 1).id()) : null;
+    List<PersonDto> items = pageContent.stream().map(PersonRow::person).toList();
+    return new PersonPageDto(items, next, limit);
+  }
+
+  /**
+   * Estimated mode answers an unfiltered request from PostgreSQL's planner statistics without
+   * scanning the table; it falls back to exact counts when filters are given or no estimate
+   * exists.
+   */
+  @Override
+  @Transactional(readOnly = true)
+  public PersonAggregatesDto aggregatePersons(
+      final String name,
+      final String surname,
+      final String sex,
+      final MatchMode matchMode,
+      final int surnamePrefixLength,
+      final boolean estimate) {
+    if (surnamePrefixLength < 1 || surnamePrefixLength > MAX_SURNAME_PREFIX_LENGTH) {
+      throw new InvalidAggregateRequestException(
+          "Surname prefix length must be between 1 and "
+              + MAX_SURNAME_PREFIX_LENGTH
+              + ", got "
+              + surnamePrefixLength);
+    }
+    if (estimate && name == null && surname == null && sex == null) {
+      OptionalLong estimatedTotal = personAggregateRepository.estimateTotal();
+      if (estimatedTotal.isPresent()) {
+        return PersonAggregatesDto.estimatedTotal(estimatedTotal.getAsLong());
+      }
+    }
+    Specification<Person> spec =
+        PersonSpecification.filterByCriteria(name, surname, sex, matchMode);
+    Map<Integer, Long> byContactCount = personAggregateRepository.countByContactCount(spec);
+    long total = byContactCount.values().stream().mapToLong(Long::longValue).sum();
+    return new PersonAggregatesDto(
+        total,
+        false,
+        personAggregateRepository.countBySex(spec),
+        personAggregateRepository.countBySurnamePrefix(spec, surnamePrefixLength),
+        byContactCount);
+  }
+
+  @Override
+  @Transactional(readOnly = true)
+  public void forEachPerson(final Consumer<PersonDto> consumer) {
+    List<Person> chunk = new ArrayList<>(Person.CONTACTS_BATCH_SIZE);
+    try (Stream<Person> persons = personRepository.streamAllOrderedById()) {
+      persons.forEach(
+          person -> {
+            chunk.add(person);
+            if (chunk.size() == Person.CONTACTS_BATCH_SIZE) {
+              emitChunk(chunk, consumer);
+            }
+          });
+    }
+    emitChunk(chunk, consumer);
+  }
+
+  /**
+   * Maps a chunk of streamed persons while they are all still managed, so their contacts are
+   * batch fetched together, then clears the persistence context to keep memory use flat.
+   */
+  private void emitChunk(final List<Person> chunk, final Consumer<PersonDto> consumer) {
+    chunk.forEach(person -> consumer.accept(personMetrics.toDto(person)));
+    chunk.clear();
+    entityManager.clear();
   }
 
+  /** Not transactional itself: a cache hit must not take a connection from the pool. */
   @Override
   public PersonDto getPersonById(final Long id) throws PersonNotFoundException {
-    return personRepository
-        .findById(id)
-        .map(PersonMapper.INSTANCE::toDto)
-        .orElseThrow(() -> new PersonNotFoundException("Person with id " + id + " was not found."));
+    return personCache
+        .get(id)
+        .orElseGet(() -> readOnlyTransactionTemplate.execute(status -> loadPersonById(id)));
+  }
+
+  private PersonDto loadPersonById(final Long id) throws PersonNotFoundException {
+    PersonRow row =
+        personProjectionRepository
+            .findById(id)
+            .orElseThrow(
+                () -> new PersonNotFoundException("Person with id " + id + " was not found."));
+    personCache.put(id, row.version(), row.person());
+    return row.person();
+  }
+
+  /**
+   * Always asks the database: the PIN filter only knows PINs committed through this instance, so
+   * it cannot prove that a PIN written by another instance is absent.
+   */
+  @Override
+  @Transactional(readOnly = true)
+  public PersonDto getPersonByPin(final String pin) throws PersonNotFoundException {
+    return personProjectionRepository
+        .findByPin(pin)
+        .map(PersonRow::person)
+        .orElseThrow(() -> pinNotFound(pin));
+  }
+
+  @Override
+  @Transactional(readOnly = true)
+  public Collection<PersonDto> findByEmailAddress(
+      final String emailAddress, final ContactMatchMode matchMode, final int limit) {
+    validateLookup(emailAddress, limit);
+    // An exact lookup is a LIKE without wildcards, which the database runs as an equality.
+    String escaped = PersonSpecification.escapeLikeWildcards(emailAddress.toLowerCase());
+    String pattern = matchMode == ContactMatchMode.PREFIX ? escaped + "%" : escaped;
+    return toDtos(personProjectionRepository.findByEmailAddressLike(pattern, limit));
+  }
+
+  /** Both modes match the normalized number, so it does not matter how it was written. */
+  @Override
+  @Transactional(readOnly = true)
+  public Collection<PersonDto> findByPhoneNumber(
+      final String phoneNumber, final ContactMatchMode matchMode, final int limit) {
+    validateLookup(phoneNumber, limit);
+    PhoneNumber normalized;
+    try {
+      normalized = PhoneNumber.of(phoneNumber);
+    } catch (IllegalArgumentException e) {
+      throw new InvalidLookupRequestException(e.getMessage());
+    }
+    List<PersonRow> rows =
+        matchMode == ContactMatchMode.PREFIX
+            ? personProjectionRepository.findByPhoneNumberE164Like(
+                normalized.getE164() + "%", limit)
+            : personProjectionRepository.findByPhoneNumberKey(normalized.getNumericKey(), limit);
+    return toDtos(rows);
+  }
+
+  private static void validateLookup(final String value, final int limit) {
+    if (value.isBlank()) {
+      throw new InvalidLookupRequestException("Lookup value must not be blank");
+    }
+    if (limit < 1 || limit > MAX_LOOKUP_LIMIT) {
+      throw new InvalidLookupRequestException(
+          "Lookup limit must be between 1 and " + MAX_LOOKUP_LIMIT + ", got " + limit);
+    }
+  }
+
+  private static List<PersonDto> toDtos(final List<PersonRow> rows) {
+    return rows.stream().map(PersonRow::person).toList();
+  }
+
+  private static PersonNotFoundException pinNotFound(final String pin) {
+    return new PersonNotFoundException("Person with PIN " + pin + " was not found.");
+  }
+
+  /** Answers from the cache or a single-column query; the contact collections are never loaded. */
+  @Override
+  public Integer getPersonVersion(final Long id) throws PersonNotFoundException {
+    return personCache
+        .getVersion(id)
+        .or(() -> personRepository.findVersionById(id))
+        .orElseThrow(
+            () -> new PersonNotFoundException("Person with id " + id + " was not found."));
   }
 
+  /**
+   * Digest of the (id, version) pairs of every matching person, in id order. It changes whenever
+   * a matching person is created, modified or deleted, and is computed without loading contacts.
+   * Equal to the tag of {@link #filterPersonsWithVersionTag} for the same persons.
+   */
+  @Override
+  public String getPersonsVersionTag(
+      final String name, final String surname, final String sex, final MatchMode matchMode) {
+    Sex sexFilter = PersonSpecification.parseSex(sex);
+    return versionTag(
+        addRow -> {
+          if (personSnapshot.isReady()) {
+            personSnapshot.forEachVersion(name, surname, sexFilter, matchMode, addRow);
+          } else {
+            readOnlyTransactionTemplate.executeWithoutResult(
+                status -> forEachVersion(name, surname, sex, matchMode, addRow));
+          }
+        });
+  }
+
+  private static String versionTag(final Consumer<PersonSnapshot.VersionConsumer> rows) {
+    MessageDigest digest = versionDigest();
+    ByteBuffer row = ByteBuffer.allocate(Long.BYTES + Integer.BYTES);
+    rows.accept(
+        (id, version) -> {
+          row.clear();
+          row.putLong(id).putInt(version == null ? -1 : version);
+          digest.update(row.array());
+        });
+    return HexFormat.of().formatHex(digest.digest(), 0, 16);
+  }
+
+  private void forEachVersion(
+      final String name,
+      final String surname,
+      final String sex,
+      final MatchMode matchMode,
+      final PersonSnapshot.VersionConsumer consumer) {
+    CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+    CriteriaQuery<Tuple> query = criteriaBuilder.createTupleQuery();
+    Root<Person> root = query.from(Person.class);
+    query
+        .multiselect(root.get("id"), root.get("version"))
+        .where(
+            PersonSpecification.filterByCriteria(name, surname, sex, matchMode)
+                .toPredicate(root, query, criteriaBuilder))
+        .orderBy(criteriaBuilder.asc(root.get("id")));
+    try (Stream<Tuple> rows = entityManager.createQuery(query).getResultStream()) {
+      rows.forEach(
+          tuple -> consumer.accept(tuple.get(0, Long.class), tuple.get(1, Integer.class)));
+    }
+  }
+
+  private static MessageDigest versionDigest() {
+    try {
+      return MessageDigest.getInstance("SHA-256");
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-256 is not available", e);
+    }
+  }
+
+  /**
+   * Duplicate PINs are rejected before any write: the PIN filter clears most new PINs without a
+   * query, and only possible duplicates are checked with an indexed lookup. The unique constraint
+   * still catches a concurrent create of the same PIN.
+   */
   @Override
   public PersonDto createPerson(final PersonDto personDto) {
-    Person savedPerson = this.personRepository.save(PersonMapper.INSTANCE.toEntity(personDto));
-    return PersonMapper.INSTANCE.toDto(savedPerson);
+    String pin = personDto.getPin();
+    if (personPinFilter.mightContain(pin) && personRepository.existsByPin(pin)) {
+      throw new DuplicatePinException("Person with PIN " + pin + " already exists.");
+    }
+    Person savedPerson = this.personRepository.save(personMetrics.toEntity(personDto));
+    personPinFilter.addAfterCommit(savedPerson.getPin());
+    PersonDto savedPersonDto = personMetrics.toDto(savedPerson);
+    personCache.putAfterCommit(savedPerson.getId(), savedPerson.getVersion(), savedPersonDto);
+    personChangeFeed.publishAfterCommit(
+        PersonChangeEvent.created(savedPerson.getId(), savedPerson.getVersion(), savedPersonDto));
+    return savedPersonDto;
   }
 
   @Override
-  @Transactional
-  @Retryable(
-      value = OptimisticLockingFailureException.class,
-      maxAttempts = 3,
-      backoff = @Backoff(delay = 1000))
+  public BatchCreateResultDto createPersons(final List<PersonDto> personDtos) {
+    if (personDtos == null || personDtos.isEmpty() || personDtos.size() > MAX_BATCH_SIZE) {
+      throw new InvalidBatchRequestException(
+          "A batch must contain between 1 and " + MAX_BATCH_SIZE + " persons");
+    }
+    BatchItemResultDto[] results = new BatchItemResultDto[personDtos.size()];
+    List<Integer> candidates = new ArrayList<>(personDtos.size());
+    Set<String> batchPins = new HashSet<>();
+    for (int i = 0; i < personDtos.size(); i++) {
+      PersonDto personDto = personDtos.get(i);
+      String error = validate(personDto);
+      if (error != null) {
+        String pin = personDto == null ? null : personDto.getPin();
+        results[i] = BatchItemResultDto.failed(i, pin, error);
+      } else if (!batchPins.add(personDto.getPin())) {
+        results[i] = BatchItemResultDto.failed(i, personDto.getPin(), "Duplicate PIN in batch");
+      } else {
+        candidates.add(i);
+      }
+    }
+
+    Set<String> existingPins = findExistingPins(batchPins);
+    List<Integer> insertable = new ArrayList<>(candidates.size());
+    for (Integer i : candidates) {
+      String pin = personDtos.get(i).getPin();
+      if (existingPins.contains(pin)) {
+        results[i] = BatchItemResultDto.failed(i, pin, "PIN already exists");
+      } else {
+        insertable.add(i);
+      }
+    }
+
+    for (int from = 0; from < insertable.size(); from += BATCH_INSERT_CHUNK_SIZE) {
+      List<Integer> chunk =
+          insertable.subList(from, Math.min(from + BATCH_INSERT_CHUNK_SIZE, insertable.size()));
+      insertChunk(personDtos, chunk, results);
+    }
+    return BatchCreateResultDto.of(List.of(results));
+  }
+
+  private String validate(final PersonDto personDto) {
+    if (personDto == null) {
+      return "Person is required";
+    }
+    Set<ConstraintViolation<PersonDto>> violations = validator.validate(personDto);
+    if (violations.isEmpty()) {
+      return null;
+    }
+    return violations.stream()
+        .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+        .sorted()
+        .collect(Collectors.joining("; "));
+  }
+
+  /** Only PINs the filter cannot rule out are looked up. */
+  private Set<String> findExistingPins(final Set<String> pins) {
+    Set<String> existingPins = new HashSet<>();
+    List<String> pinList = pins.stream().filter(personPinFilter::mightContain).toList();
+    for (int from = 0; from < pinList.size(); from += BATCH_INSERT_CHUNK_SIZE) {
+      existingPins.addAll(
+          personRepository.findExistingPins(
+              pinList.subList(from, Math.min(from + BATCH_INSERT_CHUNK_SIZE, pinList.size()))));
+    }
+    return existingPins;
+  }
+
+  /**
+   * Inserts the chunk in one transaction so Hibernate can send it as JDBC batches. If a
+   * concurrent writer took one of the PINs in the meantime, the chunk is retried item by item so
+   * that only the conflicting persons fail.
+   */
+  private void insertChunk(
+      final List<PersonDto> personDtos,
+      final List<Integer> chunk,
+      final BatchItemResultDto[] results) {
+    try {
+      List<Person> saved =
+          transactionTemplate.execute(
+              status -> {
+                List<Person> persons =
+                    chunk.stream()
+                        .map(i -> personMetrics.toEntity(personDtos.get(i)))
+                        .toList();
+                List<Person> savedPersons = personRepository.saveAll(persons);
+                personRepository.flush();
+                return savedPersons;
+              });
+      for (int i = 0; i < chunk.size(); i++) {
+        int index = chunk.get(i);
+        personPinFilter.addAfterCommit(saved.get(i).getPin());
+        publishCreated(saved.get(i));
+        results[index] =
+            BatchItemResultDto.created(index, saved.get(i).getPin(), saved.get(i).getId());
+      }
+    } catch (DataIntegrityViolationException e) {
+      for (Integer index : chunk) {
+        PersonDto personDto = personDtos.get(index);
+        try {
+          Person saved = personRepository.save(personMetrics.toEntity(personDto));
+          personPinFilter.addAfterCommit(saved.getPin());
+          publishCreated(saved);
+          results[index] = BatchItemResultDto.created(index, saved.getPin(), saved.getId());
+        } catch (DataIntegrityViolationException itemException) {
+          results[index] =
+              BatchItemResultDto.failed(
+                  index, personDto.getPin(), "PIN already exists or data violates a constraint");
+        }
+      }
+    }
+  }
+
+  private void publishCreated(final Person person) {
+    personChangeFeed.publishAfterCommit(
+        PersonChangeEvent.created(
+            person.getId(), person.getVersion(), personMetrics.toDto(person)));
+  }
+
+  /**
+   * Not transactional itself: the append mode runs in one transaction, while the read-modify-write
+   * mode retries optimistic-lock conflicts, each attempt in a new transaction.
+   */
+  @Override
   public PersonDto addEmailAddresses(final Long id, final AdditionalEmailRequestDto emailAddresses)
       throws PersonNotFoundException {
-    Person person =
-        personRepository
-            .findById(id)
-            .orElseThrow(
-                () -> new PersonNotFoundException("Person with id " + id + " was not found."));
-    person.getEmailAddresses().addAll(EmailMapper.INSTANCE.toEntity(emailAddresses));
-    Person savedPerson = personRepository.save(person);
-    return PersonMapper.INSTANCE.toDto(savedPerson);
+    Collection<String> newEmailAddresses = EmailMapper.INSTANCE.toEntity(emailAddresses);
+    if (contactAppendMode) {
+      return transactionTemplate.execute(
+          status ->
+              appendContacts(
+                  id,
+                  EMAIL_ADDRESSES_FIELD,
+                  () -> personContactRepository.appendEmailAddresses(id, newEmailAddresses),
+                  PersonDto::getEmailAddresses));
+    }
+    return retryOnConflict(
+        "addEmailAddresses",
+        () -> {
+          Person person = findPerson(id);
+          person.getEmailAddresses().addAll(newEmailAddresses);
+          return savePersonAndCache(person, EMAIL_ADDRESSES_FIELD);
+        });
   }
 
+  /** Not transactional itself, like {@link #addEmailAddresses}. */
   @Override
-  @Transactional
-  @Retryable(
-      value = OptimisticLockingFailureException.class,
-      maxAttempts = 3,
-      backoff = @Backoff(delay = 1000))
   public PersonDto addPhoneNumbers(Long id, AdditionalPhoneNumberDto phoneNumbers)
       throws PersonNotFoundException {
-    Person person =
-        personRepository
-            .findById(id)
-            .orElseThrow(
-                () -> new PersonNotFoundException("Person with id " + id + " was not found."));
-    person.getPhoneNumbers().addAll(PhoneNumberMapper.INSTANCE.toEntity(phoneNumbers));
-    Person savedPerson = personRepository.save(person);
-    return PersonMapper.INSTANCE.toDto(savedPerson);
+    Collection<PhoneNumber> newPhoneNumbers = PhoneNumberMapper.INSTANCE.toEntity(phoneNumbers);
+    if (contactAppendMode) {
+      return transactionTemplate.execute(
+          status ->
+              appendContacts(
+                  id,
+                  PHONE_NUMBERS_FIELD,
+                  () ->
+                      personContactRepository
+                          .appendPhoneNumbers(id, newPhoneNumbers)
+                          .map(added -> added.stream().map(PhoneNumber::getNumber).toList()),
+                  PersonDto::getPhoneNumbers));
+    }
+    return retryOnConflict(
+        "addPhoneNumbers",
+        () -> {
+          Person person = findPerson(id);
+          person.getPhoneNumbers().addAll(newPhoneNumbers);
+          return savePersonAndCache(person, PHONE_NUMBERS_FIELD);
+        });
   }
 
   @Override
+  @Transactional
   public void deletePerson(Long id) {
-    personRepository.deleteById(id);
+    personRepository
+        .findById(id)
+        .ifPresent(
+            person -> {
+              personRepository.delete(person);
+              personPinFilter.removeAfterCommit(person.getPin());
+              personChangeFeed.publishAfterCommit(
+                  PersonChangeEvent.deleted(id, person.getVersion(), person.getPin()));
+            });
+    personCache.evictDeletedAfterCommit(id);
+  }
+
+  /**
+   * Append mode: bumps the version with a single update (which also checks that the person
+   * exists) and inserts the new contacts if absent. Nothing is read before writing, so concurrent
+   * appends to the same person queue briefly on the row lock instead of failing an optimistic lock
+   * check, and there is nothing to retry. When the previous version is cached, the response is
+   * the cached person plus the inserted contacts and only the new version is read back. The person
+   * is loaded when it is not cached or the driver did not report which contacts were inserted.
+   */
+  private PersonDto appendContacts(
+      final Long id,
+      final String field,
+      final Supplier<Optional<List<String>>> append,
+      final Function<PersonDto, Collection<String>> contacts) {
+    if (personRepository.incrementVersion(id) == 0) {
+      throw new PersonNotFoundException("Person with id " + id + " was not found.");
+    }
+    Optional<List<String>> added = append.get();
+    Integer version = personRepository.findVersionById(id).orElse(null);
+    PersonDto personDto =
+        version == null || added.isEmpty()
+            ? null
+            : personCache.get(id, version - 1).orElse(null);
+    if (personDto != null) {
+      contacts.apply(personDto).addAll(added.get());
+    } else {
+      Person person = findPerson(id);
+      version = person.getVersion();
+      personDto = personMetrics.toDto(person);
+    }
+    personCache.putAfterCommit(id, version, personDto);
+    personChangeFeed.publishAfterCommit(PersonChangeEvent.updated(id, version, field, personDto));
+    return personDto;
+  }
+
+  private Person findPerson(final Long id) throws PersonNotFoundException {
+    return personRepository
+        .findById(id)
+        .orElseThrow(() -> new PersonNotFoundException("Person with id " + id + " was not found."));
+  }
+
+  /** Runs the action in a new transaction per attempt, retrying optimistic-lock conflicts. */
+  private PersonDto retryOnConflict(final String operation, final Supplier<PersonDto> action) {
+    return conflictRetryTemplate.execute(
+        context -> {
+          context.setAttribute(RetryContext.NAME, operation);
+          return transactionTemplate.execute(status -> action.get());
+        });
+  }
+
+  /** Flushes so the returned version is the incremented one the cache entry is keyed on. */
+  private PersonDto savePersonAndCache(final Person person, final String field) {
+    Person savedPerson = personRepository.saveAndFlush(person);
+    PersonDto savedPersonDto = personMetrics.toDto(savedPerson);
+    personCache.putAfterCommit(savedPerson.getId(), savedPerson.getVersion(), savedPersonDto);
+    personChangeFeed.publishAfterCommit(
+        PersonChangeEvent.updated(
+            savedPerson.getId(), savedPerson.getVersion(), field, savedPersonDto));
+    return savedPersonDto;
   }
 }
@@ -0,0 +1,55 @@
+package com.epavfra.task.snapshot;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * The contacts of all rows packed into one array; a row owns the range between its start and end
+ * offsets. Replacing a row's contacts appends the new range and leaves the old one as garbage
+ * until the columns are compacted.
+ */
+final class ContactColumn {
+
+  private String[] values = new String[PersonColumns.INITIAL_CAPACITY];
+  private int[] starts = new int[PersonColumns.INITIAL_CAPACITY];
+  private int[] ends = new int[PersonColumns.INITIAL_CAPACITY];
+  private int used;
+  private int garbage;
+
+  void set(final int row, final Collection<String> contacts) {
+    if (row >= starts.length) {
+      int capacity = Math.max(row + 1, starts.length * 2);
+      starts = Arrays.copyOf(starts, capacity);
+      ends = Arrays.copyOf(ends, capacity);
+    }
+    garbage += ends[row] - starts[row];
+    if (used + contacts.size() > values.length) {
+      values = Arrays.copyOf(values, Math.max(used + contacts.size(), values.length * 2));
+    }
+    starts[row] = used;
+    for (String contact : contacts) {
+      values[used++] = contact;
+    }
+    ends[row] = used;
+  }
+
+  void clear(final int row) {
+    garbage += ends[row] - starts[row];
+    starts[row] = used;
+    ends[row] = used;
+  }
+
+  Set<String> get(final int row) {
+    Set<String> contacts = new HashSet<>();
+    for (int i = starts[row]; i < ends[row]; i++) {
+      contacts.add(values[i]);
+    }
+    return contacts;
+  }
+
+  boolean isMostlyGarbage() {
+    return garbage > PersonColumns.INITIAL_CAPACITY && garbage > used / 2;
+  }
+}
@@ -0,0 +1,51 @@
+package com.epavfra.task.snapshot;
+
+import com.epavfra.task.utils.specification.MatchMode;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Dictionary encoding of a string column: every distinct value is stored once and rows hold its
+ * code. A filter is matched against the distinct values only, which yields the set of matching
+ * codes; rows are then tested with a single bit lookup each.
+ */
+final class Dictionary {
+
+  private final Map<String, Integer> codes = new HashMap<>();
+  private final List<String> values = new ArrayList<>();
+  private final List<String> lowerCaseValues = new ArrayList<>();
+
+  int encode(final String value) {
+    Integer code = codes.get(value);
+    if (code == null) {
+      code = values.size();
+      codes.put(value, code);
+      values.add(value);
+      lowerCaseValues.add(value.toLowerCase(Locale.ROOT));
+    }
+    return code;
+  }
+
+  String decode(final int code) {
+    return values.get(code);
+  }
+
+  /** Codes of the values matching like the database filters do: case-insensitively. */
+  BitSet matching(final String term, final MatchMode matchMode) {
+    String lowerCaseTerm = term.toLowerCase(Locale.ROOT);
+    BitSet matching = new BitSet(values.size());
+    for (int code = 0; code < lowerCaseValues.size(); code++) {
+      String value = lowerCaseValues.get(code);
+      if (matchMode == MatchMode.PREFIX
+          ? value.startsWith(lowerCaseTerm)
+          : value.contains(lowerCaseTerm)) {
+        matching.set(code);
+      }
+    }
+    return matching;
+  }
+}
@@ -0,0 +1,205 @@
+package com.epavfra.task.snapshot;
+
+import com.epavfra.task.dto.PersonDto;
+import com.epavfra.task.model.Sex;
+import com.epavfra.task.utils.specification.MatchMode;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Column-oriented copy of the person table. Each person is a row index into primitive id, version
+ * and code arrays; names and surnames are dictionary encoded, sex is one bitmap per value and
+ * contacts are packed per column. Deleted rows stay behind as dead rows that remember their last
+ * version until {@link #compact} drops them. Rows are appended as persons arrive, and an index of
+ * the rows in id order covers persons committed out of id order. Not thread-safe.
+ */
+final class PersonColumns {
+
+  static final int INITIAL_CAPACITY = 1024;
+  private static final int NO_VERSION = -1;
+
+  private final Dictionary names = new Dictionary();
+  private final Dictionary surnames = new Dictionary();
+  private final ContactColumn emailAddresses = new ContactColumn();
+  private final ContactColumn phoneNumbers = new ContactColumn();
+  private final BitSet live = new BitSet();
+  private final BitSet[] bySex = new BitSet[Sex.values().length];
+  private final Map<Long, Integer> rowsById = new HashMap<>();
+  private long[] ids = new long[INITIAL_CAPACITY];
+  private int[] versions = new int[INITIAL_CAPACITY];
+  private int[] nameCodes = new int[INITIAL_CAPACITY];
+  private int[] surnameCodes = new int[INITIAL_CAPACITY];
+  private String[] pins = new String[INITIAL_CAPACITY];
+  // The rows sorted by id; while idOrdered, row i is simply at position i.
+  private int[] rowsInIdOrder = new int[INITIAL_CAPACITY];
+  private int size;
+  private boolean idOrdered = true;
+
+  PersonColumns() {
+    Arrays.setAll(bySex, sex -> new BitSet());
+  }
+
+  /**
+   * Stores the person unless the row already holds this or a later version, which happens when
+   * the load and change events overlap or events of concurrent writes arrive out of order.
+   */
+  boolean upsert(final long id, final Integer version, final PersonDto person) {
+    Integer row = rowsById.get(id);
+    int newVersion = version == null ? NO_VERSION : version;
+    if (row != null && versions[row] >= newVersion) {
+      return false;
+    }
+    if (row == null) {
+      row = appendRow(id);
+    }
+    versions[row] = newVersion;
+    nameCodes[row] = names.encode(person.getName());
+    surnameCodes[row] = surnames.encode(person.getSurname());
+    pins[row] = person.getPin();
+    for (BitSet rows : bySex) {
+      rows.clear(row);
+    }
+    if (person.getSex() != null) {
+      bySex[person.getSex().ordinal()].set(row);
+    }
+    emailAddresses.set(row, person.getEmailAddresses());
+    phoneNumbers.set(row, person.getPhoneNumbers());
+    live.set(row);
+    return true;
+  }
+
+  /** Marks the row dead; an unknown id gets a dead row so a late create is still ignored. */
+  void delete(final long id, final Integer version) {
+    Integer row = rowsById.get(id);
+    if (row == null) {
+      row = appendRow(id);
+    }
+    versions[row] = Math.max(versions[row], version == null ? NO_VERSION : version);
+    live.clear(row);
+    emailAddresses.clear(row);
+    phoneNumbers.clear(row);
+  }
+
+  /** Rows of the live persons matching every given filter, in id order. */
+  int[] match(final String name, final String surname, final Sex sex, final MatchMode matchMode) {
+    BitSet rows = (BitSet) live.clone();
+    if (sex != null) {
+      rows.and(bySex[sex.ordinal()]);
+    }
+    if (name != null) {
+      retain(rows, nameCodes, names.matching(name, matchMode));
+    }
+    if (surname != null) {
+      retain(rows, surnameCodes, surnames.matching(surname, matchMode));
+    }
+    if (idOrdered) {
+      return rows.stream().toArray();
+    }
+    int[] matched = new int[rows.cardinality()];
+    int count = 0;
+    for (int i = 0; i < size && count < matched.length; i++) {
+      int row = rowsInIdOrder[i];
+      if (rows.get(row)) {
+        matched[count++] = row;
+      }
+    }
+    return matched;
+  }
+
+  long id(final int row) {
+    return ids[row];
+  }
+
+  Integer version(final int row) {
+    return versions[row] == NO_VERSION ? null : versions[row];
+  }
+
+  PersonDto toDto(final int row) {
+    PersonDto personDto = new PersonDto();
+    personDto.setName(names.decode(nameCodes[row]));
+    personDto.setSurname(surnames.decode(surnameCodes[row]));
+    personDto.setPin(pins[row]);
+    for (Sex sex : Sex.values()) {
+      if (bySex[sex.ordinal()].get(row)) {
+        personDto.setSex(sex);
+      }
+    }
+    personDto.setEmailAddresses(emailAddresses.get(row));
+    personDto.setPhoneNumbers(phoneNumbers.get(row));
+    return personDto;
+  }
+
+  int liveCount() {
+    return live.cardinality();
+  }
+
+  /** True once more than half of the rows or of a packed contact column are dead. */
+  boolean needsCompaction() {
+    int deadRows = size - liveCount();
+    return (deadRows > INITIAL_CAPACITY && deadRows > size / 2)
+        || emailAddresses.isMostlyGarbage()
+        || phoneNumbers.isMostlyGarbage();
+  }
+
+  /** The live rows copied into fresh columns in id order, with unused dictionary values gone. */
+  PersonColumns compact() {
+    PersonColumns compacted = new PersonColumns();
+    for (int row : match(null, null, null, MatchMode.CONTAINS)) {
+      compacted.upsert(ids[row], version(row), toDto(row));
+    }
+    return compacted;
+  }
+
+  private int appendRow(final long id) {
+    if (size == ids.length) {
+      int capacity = size * 2;
+      ids = Arrays.copyOf(ids, capacity);
+      versions = Arrays.copyOf(versions, capacity);
+      nameCodes = Arrays.copyOf(nameCodes, capacity);
+      surnameCodes = Arrays.copyOf(surnameCodes, capacity);
+      pins = Arrays.copyOf(pins, capacity);
+      rowsInIdOrder = Arrays.copyOf(rowsInIdOrder, capacity);
+    }
+    int row = size++;
+    ids[row] = id;
+    versions[row] = NO_VERSION;
+    rowsById.put(id, row);
+    int position = row;
+    if (row > 0 && ids[rowsInIdOrder[row - 1]] > id) {
+      idOrdered = false;
+      position = idOrderPosition(id, row);
+      System.arraycopy(rowsInIdOrder, position, rowsInIdOrder, position + 1, row - position);
+    }
+    rowsInIdOrder[position] = row;
+    return row;
+  }
+
+  /** The first of the given number of id-ordered positions whose id is larger than {@code id}. */
+  private int idOrderPosition(final long id, final int positions) {
+    int low = 0;
+    int high = positions;
+    while (low < high) {
+      int middle = (low + high) >>> 1;
+      if (ids[rowsInIdOrder[middle]] < id) {
+        low = middle + 1;
+      } else {
+        high = middle;
+      }
+    }
+    return low;
+  }
+
+  private static void retain(final BitSet rows, final int[] codes, final BitSet matchingCodes) {
+    if (matchingCodes.isEmpty()) {
+      rows.clear();
+      return;
+    }
+    for (int row = rows.nextSetBit(0); row >= 0; row = rows.nextSetBit(row + 1)) {
+      if (!matchingCodes.get(codes[row])) {
+        rows.clear(row);
+      }
+    }
+  }
+}
@@ -0,0 +1,178 @@
+package com.epavfra.task.snapshot;
+
+import com.epavfra.task.dto.PersonDto;
+import com.epavfra.task.events.PersonChangeEvent;
+import com.epavfra.task.events.PersonChangeFeed;
+import com.epavfra.task.model.Sex;
+import com.epavfra.task.repository.PersonProjectionRepository;
+import com.epavfra.task.repository.PersonProjectionRepository.PersonRow;
+import com.epavfra.task.utils.specification.MatchMode;
+import com.epavfra.task.utils.specification.PersonSpecification;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Optional in-memory copy of all persons that answers the name, surname and sex filters without
+ * a database round trip. It is loaded in id order once the application is ready and then follows
+ * the committed changes of the {@link PersonChangeFeed}; versions decide between a loaded row and
+ * an event for the same person, so changes made during the load are not lost. Until the load has
+ * finished, and when {@code person.snapshot.enabled} is false, {@link #isReady} is false and
+ * callers read from the database.
+ *
+ * <p>Only writes made through the service reach the snapshot. Filters run under a read lock, and
+ * changes under the write lock.
+ */
+@Slf4j
+@Component
+public class PersonSnapshot {
+
+  static final int LOAD_CHUNK_SIZE = 5000;
+
+  /** Receives the id and version of every matching person, in id order. */
+  @FunctionalInterface
+  public interface VersionConsumer {
+    void accept(long id, Integer version);
+  }
+
+  private final boolean enabled;
+  private final PersonProjectionRepository personProjectionRepository;
+  private final PersonChangeFeed personChangeFeed;
+  private final TransactionTemplate readOnlyTransactionTemplate;
+  private final ReadWriteLock lock = new ReentrantReadWriteLock();
+  // Guarded by lock.
+  private PersonColumns columns = new PersonColumns();
+  private volatile int liveCount;
+  private volatile boolean ready;
+
+  public PersonSnapshot(
+      @Value("${person.snapshot.enabled:false}") final boolean enabled,
+      final PersonProjectionRepository personProjectionRepository,
+      final PersonChangeFeed personChangeFeed,
+      final PlatformTransactionManager transactionManager,
+      final MeterRegistry meterRegistry) {
+    this.enabled = enabled;
+    this.personProjectionRepository = personProjectionRepository;
+    this.personChangeFeed = personChangeFeed;
+    this.readOnlyTransactionTemplate = new TransactionTemplate(transactionManager);
+    this.readOnlyTransactionTemplate.setReadOnly(true);
+    Gauge.builder("person.snapshot.persons", this, snapshot -> snapshot.liveCount)
+        .description("Persons held by the in-memory snapshot")
+        .register(meterRegistry);
+  }
+
+  public boolean isReady() {
+    return ready;
+  }
+
+  /**
+   * Subscribes to changes first and then reads all persons in chunks, each in its own read-only
+   * transaction, so memory use during the load is bounded by one chunk.
+   */
+  @EventListener(ApplicationReadyEvent.class)
+  public void load() {
+    if (!enabled) {
+      return;
+    }
+    if (!ready) {
+      personChangeFeed.addListener(this::apply);
+    }
+    Long lastId = null;
+    List<PersonRow> chunk;
+    do {
+      chunk = loadChunk(lastId);
+      if (!chunk.isEmpty()) {
+        lastId = chunk.get(chunk.size() - 1).id();
+      }
+    } while (chunk.size() == LOAD_CHUNK_SIZE);
+    ready = true;
+    log.info("Person snapshot loaded with {} persons", liveCount);
+  }
+
+  private List<PersonRow> loadChunk(final Long afterId) {
+    List<PersonRow> chunk =
+        readOnlyTransactionTemplate.execute(
+            status ->
+                personProjectionRepository.findAll(
+                    PersonSpecification.idGreaterThan(afterId), LOAD_CHUNK_SIZE));
+    write(
+        columns -> {
+          for (PersonRow row : chunk) {
+            columns.upsert(row.id(), row.version(), row.person());
+          }
+        });
+    return chunk;
+  }
+
+  public List<PersonDto> filter(
+      final String name, final String surname, final Sex sex, final MatchMode matchMode) {
+    return filterRows(name, surname, sex, matchMode).stream().map(PersonRow::person).toList();
+  }
+
+  /** Like {@link #filter}, with the id and version each person was copied at, in id order. */
+  public List<PersonRow> filterRows(
+      final String name, final String surname, final Sex sex, final MatchMode matchMode) {
+    lock.readLock().lock();
+    try {
+      int[] rows = columns.match(name, surname, sex, matchMode);
+      List<PersonRow> persons = new ArrayList<>(rows.length);
+      for (int row : rows) {
+        persons.add(new PersonRow(columns.id(row), columns.version(row), columns.toDto(row)));
+      }
+      return persons;
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  public void forEachVersion(
+      final String name,
+      final String surname,
+      final Sex sex,
+      final MatchMode matchMode,
+      final VersionConsumer consumer) {
+    lock.readLock().lock();
+    try {
+      for (int row : columns.match(name, surname, sex, matchMode)) {
+        consumer.accept(columns.id(row), columns.version(row));
+      }
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  private void apply(final PersonChangeEvent event) {
+    write(
+        columns -> {
+          if (event.type() == PersonChangeEvent.Type.DELETED) {
+            columns.delete(event.id(), event.version());
+          } else {
+            columns.upsert(event.id(), event.version(), event.person());
+          }
+        });
+  }
+
+  private void write(final Consumer<PersonColumns> change) {
+    lock.writeLock().lock();
+    try {
+      change.accept(columns);
+      if (columns.needsCompaction()) {
+        columns = columns.compact();
+      }
+      liveCount = columns.liveCount();
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+}
@@ -5,11 +5,33 @@ public class ApiPaths {
   public static final String BASE_PATH = "/api/v1/";
   public static final String PERSONS_PATH = BASE_PATH + "persons/";
   public static final String GET_PERSON_BY_ID_PATH_SUFFIX = "{personId}";
+  public static final String GET_PERSON_BY_PIN_PATH_SUFFIX = "pin/{pin}";
   public static final String DELETE_PERSON_PATH_SUFFIX = "{personId}";
   public static final String ADD_ADDRESSES_PATH_SUFFIX = "{personId}/" + "addresses";
   public static final String ADD_PHONE_NUMBERS_PATH_SUFFIX = "{personId}/" + "phone-numbers";
+  public static final String PERSONS_PAGE_PATH_SUFFIX = "page";
+  public static final String EXPORT_PERSONS_PATH_SUFFIX = "export";
+  public static final String BATCH_PERSONS_PATH_SUFFIX = "batch";
+  public static final String PERSONS_AGGREGATES_PATH_SUFFIX = "aggregates";
+  public static final String INGEST_PERSONS_PATH_SUFFIX = "ingest";
+  public static final String INGEST_STATUS_PATH_SUFFIX = "ingest/{trackingId}";
+  public static final String PERSON_EVENTS_PATH_SUFFIX = "events";
+  public static final String LOOKUP_BY_EMAIL_PATH_SUFFIX = "lookup/email";
+  public static final String LOOKUP_BY_PHONE_NUMBER_PATH_SUFFIX = "lookup/phone";
   public static final String GET_PERSON_BY_ID_PATH = PERSONS_PATH + GET_PERSON_BY_ID_PATH_SUFFIX;
+  public static final String GET_PERSON_BY_PIN_PATH = PERSONS_PATH + GET_PERSON_BY_PIN_PATH_SUFFIX;
   public static final String DELETE_PERSON_PATH = PERSONS_PATH + DELETE_PERSON_PATH_SUFFIX;
   public static final String ADD_ADDRESSES_PATH = PERSONS_PATH + ADD_ADDRESSES_PATH_SUFFIX;
   public static final String ADD_PHONE_NUMBERS_PATH = PERSONS_PATH + ADD_PHONE_NUMBERS_PATH_SUFFIX;
+  public static final String PERSONS_PAGE_PATH = PERSONS_PATH + PERSONS_PAGE_PATH_SUFFIX;
+  public static final String EXPORT_PERSONS_PATH = PERSONS_PATH + EXPORT_PERSONS_PATH_SUFFIX;
+  public static final String BATCH_PERSONS_PATH = PERSONS_PATH + BATCH_PERSONS_PATH_SUFFIX;
+  public static final String PERSONS_AGGREGATES_PATH =
+      PERSONS_PATH + PERSONS_AGGREGATES_PATH_SUFFIX;
+  public static final String INGEST_PERSONS_PATH = PERSONS_PATH + INGEST_PERSONS_PATH_SUFFIX;
+  public static final String INGEST_STATUS_PATH = PERSONS_PATH + INGEST_STATUS_PATH_SUFFIX;
+  public static final String PERSON_EVENTS_PATH = PERSONS_PATH + PERSON_EVENTS_PATH_SUFFIX;
+  public static final String LOOKUP_BY_EMAIL_PATH = PERSONS_PATH + LOOKUP_BY_EMAIL_PATH_SUFFIX;
+  public static final String LOOKUP_BY_PHONE_NUMBER_PATH =
+      PERSONS_PATH + LOOKUP_BY_PHONE_NUMBER_PATH_SUFFIX;
 }
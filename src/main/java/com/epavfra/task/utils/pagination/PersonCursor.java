@@ -0,0 +1,38 @@
+package com.epavfra.task.utils.pagination;
+
+import com.epavfra.task.exception.InvalidPageRequestException;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Encodes the keyset position of a person page into an opaque token. The token only carries the
+ * id of the last returned person, so resuming a page is an index range scan on the primary key
+ * regardless of how deep the client has paged.
+ */
+public final class PersonCursor {
+
+  private static final String PREFIX = "id:";
+
+  private PersonCursor() {}
+
+  public static String encode(final Long lastId) {
+    return Base64.getUrlEncoder()
+        .withoutPadding()
+        .encodeToString((PREFIX + lastId).getBytes(StandardCharsets.UTF_8));
+  }
+
+  public static Long decode(final String cursor) {
+    if (cursor == null || cursor.isBlank()) {
+      return null;
+    }
+    try {
+      String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+      if (!decoded.startsWith(PREFIX)) {
+        throw new InvalidPageRequestException("Invalid page cursor: " + cursor);
+      }
+      return Long.valueOf(decoded.substring(PREFIX.length()));
+    } catch (IllegalArgumentException e) {
+      throw new InvalidPageRequestException("Invalid page cursor: " + cursor, e);
+    }
+  }
+}
@@ -0,0 +1,9 @@
+package com.epavfra.task.utils.specification;
+
+/** How a contact lookup value is matched against stored email addresses and phone numbers. */
+public enum ContactMatchMode {
+  /** Whole value; email addresses compare case-insensitively. */
+  EXACT,
+  /** Stored values starting with the given value; email addresses compare case-insensitively. */
+  PREFIX
+}
@@ -0,0 +1,9 @@
+package com.epavfra.task.utils.specification;
+
+/** How the name and surname filters are matched against stored values. */
+public enum MatchMode {
+  /** Case-insensitive substring match, served by the trigram indexes on PostgreSQL. */
+  CONTAINS,
+  /** Case-insensitive prefix match, served by the B-tree indexes on lower(name/surname). */
+  PREFIX
+}
@@ -5,24 +5,29 @@ import java.util.Set;
 
 import com.epavfra.task.model.Person;
 import com.epavfra.task.model.Sex;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Expression;
 import jakarta.persistence.criteria.Predicate;
 import org.springframework.data.jpa.domain.Specification;
 
 public class PersonSpecification {
 
+  public static final char LIKE_ESCAPE = '\\';
+
   public static Specification<Person> filterByCriteria(
       final String name, final String surname, final String sex) {
+    return filterByCriteria(name, surname, sex, MatchMode.CONTAINS);
+  }
+
+  public static Specification<Person> filterByCriteria(
+      final String name, final String surname, final String sex, final MatchMode matchMode) {
     return (root, query, criteriaBuilder) -> {
       Set<Predicate> predicates = new HashSet<>();
       if (name != null) {
-        predicates.add(
-            criteriaBuilder.like(
-                criteriaBuilder.lower(root.get("name")), "%" + name.toLowerCase() + "%"));
+        predicates.add(matches(criteriaBuilder, root.get("name"), name, matchMode));
       }
       if (surname != null) {
-        predicates.add(
-            criteriaBuilder.like(
-                criteriaBuilder.lower(root.get("surname")), "%" + surname.toLowerCase() + "%"));
+        predicates.add(matches(criteriaBuilder, root.get("surname"), surname, matchMode));
       }
       if (sex != null) {
         Sex sexEnum = convertSexStringToEnum(sex);
@@ -33,6 +38,42 @@ public class PersonSpecification {
     };
   }
 
+  public static Specification<Person> idGreaterThan(final Long id) {
+    return (root, query, criteriaBuilder) ->
+        id == null ? criteriaBuilder.conjunction() : criteriaBuilder.greaterThan(root.get("id"), id);
+  }
+
+  /**
+   * Matches on lower(column) so the expression indexes of the V2 migration apply: a trigram GIN
+   * index for substring search and a text_pattern_ops B-tree for prefix search.
+   */
+  private static Predicate matches(
+      final CriteriaBuilder criteriaBuilder,
+      final Expression<String> column,
+      final String value,
+      final MatchMode matchMode) {
+    String escaped = escapeLikeWildcards(value.toLowerCase());
+    String pattern = matchMode == MatchMode.PREFIX ? escaped + "%" : "%" + escaped + "%";
+    return criteriaBuilder.like(criteriaBuilder.lower(column), pattern, LIKE_ESCAPE);
+  }
+
+  /** Escapes {@code %}, {@code _} and the escape character itself with {@link #LIKE_ESCAPE}. */
+  public static String escapeLikeWildcards(final String value) {
+    StringBuilder escaped = new StringBuilder(value.length());
+    for (char c : value.toCharArray()) {
+      if (c == LIKE_ESCAPE || c == '%' || c == '_') {
+        escaped.append(LIKE_ESCAPE);
+      }
+      escaped.append(c);
+    }
+    return escaped.toString();
+  }
+
+  /** Parses the sex filter the way {@link #filterByCriteria} does; null stays null. */
+  public static Sex parseSex(final String source) {
+    return source == null ? null : convertSexStringToEnum(source);
+  }
+
   private static Sex convertSexStringToEnum(String source) {
     if (source.isBlank()) {
       throw new IllegalArgumentException();
@@ -0,0 +1,39 @@
+-- The person schema. Databases created by the former ddl-auto=update are baselined at version 0
+-- (spring.flyway.baseline-on-migrate), so this script also runs on them: it only creates what is
+-- missing. Such databases have an identity id column and no person_seq, and their contact tables
+-- have neither unique constraints nor indexes. V2 moves the sequence past their existing ids.
+
+CREATE SEQUENCE IF NOT EXISTS person_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS person (
+    id      BIGINT       NOT NULL,
+    name    VARCHAR(255) NOT NULL,
+    surname VARCHAR(255) NOT NULL,
+    pin     VARCHAR(11)  NOT NULL,
+    sex     SMALLINT CHECK (sex BETWEEN 0 AND 2),
+    version INTEGER,
+    CONSTRAINT pk_person PRIMARY KEY (id),
+    -- Serves existsByPin, findExistingPins and the get-by-PIN lookup.
+    CONSTRAINT uk_person_pin UNIQUE (pin)
+);
+
+CREATE TABLE IF NOT EXISTS person_email_addresses (
+    person_id     BIGINT NOT NULL,
+    email_address VARCHAR(255),
+    CONSTRAINT fk_person_email_addresses_person FOREIGN KEY (person_id) REFERENCES person (id)
+);
+
+CREATE TABLE IF NOT EXISTS "person_phone-numbers" (
+    person_id    BIGINT NOT NULL,
+    phone_number VARCHAR(255),
+    CONSTRAINT fk_person_phone_numbers_person FOREIGN KEY (person_id) REFERENCES person (id)
+);
+
+-- The (person_id, value) unique indexes lead with person_id, so they also serve the batched
+-- collection loads and the deletes by person_id; a separate person_id index would only add write
+-- cost. The contact appends insert with ON CONFLICT DO NOTHING and rely on them to skip values a
+-- person already has. Hibernate stored the collections as sets, so existing rows are unique.
+CREATE UNIQUE INDEX IF NOT EXISTS uk_person_email_addresses
+    ON person_email_addresses (person_id, email_address);
+CREATE UNIQUE INDEX IF NOT EXISTS uk_person_phone_numbers
+    ON "person_phone-numbers" (person_id, phone_number);
@@ -0,0 +1,6 @@
+-- Canonical form of every phone number next to the number as it was entered. Existing rows are
+-- filled in by the Java migration V5 (PhoneNumberKeyBackfill), which normalizes exactly like the
+-- application does.
+
+ALTER TABLE "person_phone-numbers" ADD COLUMN phone_number_e164 VARCHAR(16);
+ALTER TABLE "person_phone-numbers" ADD COLUMN phone_number_key BIGINT;
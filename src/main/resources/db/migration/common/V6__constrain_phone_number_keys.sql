@@ -0,0 +1,15 @@
+-- Phone numbers are unique per person by key rather than by text. Of several forms of the same
+-- number stored for one person, the lowest sorting one is kept.
+
+DELETE FROM "person_phone-numbers" d
+WHERE EXISTS (
+    SELECT 1 FROM "person_phone-numbers" k
+    WHERE k.person_id = d.person_id
+      AND k.phone_number_key = d.phone_number_key
+      AND k.phone_number < d.phone_number
+);
+
+-- The V1 unique index on the text is implied by the key constraint.
+DROP INDEX IF EXISTS uk_person_phone_numbers;
+ALTER TABLE "person_phone-numbers"
+    ADD CONSTRAINT uk_person_phone_numbers_key UNIQUE (person_id, phone_number_key);
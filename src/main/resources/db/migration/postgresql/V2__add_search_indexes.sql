@@ -0,0 +1,16 @@
+-- Indexes for the name/surname filters of PersonSpecification, which match on lower(column).
+-- IF NOT EXISTS because databases created before Flyway may already have them from
+-- schema-postgresql.sql.
+
+-- Substring search: lower(x) LIKE '%term%' is served by trigram GIN indexes.
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+CREATE INDEX IF NOT EXISTS idx_person_name_trgm ON person USING gin (lower(name) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_person_surname_trgm ON person USING gin (lower(surname) gin_trgm_ops);
+
+-- Prefix search: lower(x) LIKE 'term%' is served by B-tree indexes.
+CREATE INDEX IF NOT EXISTS idx_person_name_prefix ON person (lower(name) text_pattern_ops);
+CREATE INDEX IF NOT EXISTS idx_person_surname_prefix ON person (lower(surname) text_pattern_ops);
+
+-- Person ids moved from an identity column to the pooled person_seq sequence. Keep the sequence
+-- ahead of ids that were assigned by the identity column.
+SELECT setval('person_seq', GREATEST((SELECT last_value FROM person_seq), (SELECT COALESCE(MAX(id), 0) + 50 FROM person)));
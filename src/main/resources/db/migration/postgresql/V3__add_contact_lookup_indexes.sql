@@ -0,0 +1,9 @@
+-- Indexes for the reverse lookups by email address and phone number. text_pattern_ops B-trees
+-- serve both the exact match and the prefix LIKE, and return rows in value order so a lookup can
+-- stop after its limit. Built concurrently so writes to large contact tables are not blocked;
+-- see the .conf file next to this script.
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_person_email_addresses_lookup
+    ON person_email_addresses (lower(email_address) text_pattern_ops);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_person_phone_numbers_lookup
+    ON "person_phone-numbers" (phone_number text_pattern_ops);
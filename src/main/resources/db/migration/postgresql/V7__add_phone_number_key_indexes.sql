@@ -0,0 +1,8 @@
+-- Phone number lookups match the normalized number: exact lookups by key, prefix lookups on the
+-- E.164 text. They replace the V3 index on the number as entered. Built concurrently like V3.
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_person_phone_numbers_key
+    ON "person_phone-numbers" (phone_number_key);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_person_phone_numbers_e164
+    ON "person_phone-numbers" (phone_number_e164 text_pattern_ops);
+DROP INDEX CONCURRENTLY IF EXISTS idx_person_phone_numbers_lookup;
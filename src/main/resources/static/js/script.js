@@ -1,5 +1,11 @@
 const BASE_URL = 'http://localhost:8080/api/v1/persons/';
 
+// Rows currently shown, keyed by PIN and kept up to date from the change feed.
+const peopleByPin = new Map();
+let currentFilters = {};
+// Changes that arrive while the list is loading, applied once it is loaded.
+let pendingChanges = null;
+
 // Helper: Convert comma-separated string to array
 function parseCSV(input) {
     return input.split(',')
@@ -37,30 +43,78 @@ document.getElementById('createPersonForm').addEventListener('submit', async fun
 });
 
 document.addEventListener('DOMContentLoaded', () => {
-    // Initially load all persons
+    // Subscribe before the initial load so no change falls between the two
+    connectChangeFeed();
     loadPeople();
-
-    // You can also set up event listeners if needed (for example, on keyup events for instant filtering)
 });
 
+/**
+ * Follows the server's change feed instead of re-fetching the whole list after changes.
+ * EventSource reconnects by itself and sends Last-Event-ID, so missed events are replayed;
+ * a 'reset' event means they are gone and the list has to be reloaded.
+ */
+function connectChangeFeed() {
+    const source = new EventSource(BASE_URL + 'events');
+    source.addEventListener('person', event => {
+        const change = JSON.parse(event.data);
+        if (pendingChanges) {
+            pendingChanges.push(change);
+        } else {
+            applyChange(change);
+            renderPeople();
+        }
+    });
+    source.addEventListener('reset', () => loadPeople(currentFilters));
+}
+
+function applyChange(change) {
+    if (change.type === 'DELETED' || !matchesFilters(change.person, currentFilters)) {
+        peopleByPin.delete(change.pin);
+    } else {
+        peopleByPin.set(change.pin, change.person);
+    }
+}
+
+/** Mirrors the backend's default filtering: case-insensitive substring match, exact sex. */
+function matchesFilters(person, filters) {
+    const contains = (value, filter) =>
+        !filter || (value || '').toLowerCase().includes(filter.toLowerCase());
+    return contains(person.name, filters.name)
+        && contains(person.surname, filters.surname)
+        && (!filters.sex || person.sex === filters.sex.toUpperCase());
+}
+
+function renderPeople() {
+    const people = Array.from(peopleByPin.values());
+    populateTable(people);
+    renderSummary(people);
+}
+
+function filterParams(filters) {
+    const params = new URLSearchParams();
+    if (filters.name) {
+        params.append('name', filters.name);
+    }
+    if (filters.surname) {
+        params.append('surname', filters.surname);
+    }
+    if (filters.sex) {
+        params.append('sex', filters.sex);
+    }
+    return params;
+}
+
 /**
  * Fetches people from the backend.
  * Optionally accepts a filters object with keys: name, surname, sex.
  */
 async function loadPeople(filters = {}) {
+    currentFilters = filters;
+    pendingChanges = [];
     try {
         let url = BASE_URL;
         // Build query parameters from filters if provided
-        const params = new URLSearchParams();
-        if (filters.name) {
-            params.append('name', filters.name);
-        }
-        if (filters.surname) {
-            params.append('surname', filters.surname);
-        }
-        if (filters.sex) {
-            params.append('sex', filters.sex);
-        }
+        const params = filterParams(filters);
         if (Array.from(params).length > 0) {
             url += '?' + params.toString();
         }
@@ -69,12 +123,29 @@ async function loadPeople(filters = {}) {
             throw new Error('Error fetching persons: ' + response.statusText);
         }
         const people = await response.json();
-        populateTable(people);
+        peopleByPin.clear();
+        people.forEach(person => peopleByPin.set(person.pin, person));
+        pendingChanges.forEach(applyChange);
+        renderPeople();
     } catch (error) {
         console.error('Error loading people:', error);
+    } finally {
+        pendingChanges = null;
     }
 }
 
+/**
+ * Shows how many people match the filters. The list already holds every matching person, so the
+ * counts come from it instead of a second request to the aggregates endpoint.
+ */
+function renderSummary(people) {
+    const bySex = new Map();
+    people.forEach(person => bySex.set(person.sex, (bySex.get(person.sex) || 0) + 1));
+    const sexCounts = Array.from(bySex, ([sex, count]) => `${sex}: ${count}`).join(', ');
+    document.getElementById('peopleSummary').textContent =
+        `Total: ${people.length}` + (sexCounts ? ` (${sexCounts})` : '');
+}
+
 /**
  * Populates the table with data.
  * Expects each person object to have: name, surname, sex, emailaddresses (array), phonenumbers (array)
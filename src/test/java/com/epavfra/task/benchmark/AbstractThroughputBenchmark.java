@@ -0,0 +1,222 @@
+package com.epavfra.task.benchmark;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.epavfra.task.model.Person;
+import com.epavfra.task.model.Sex;
+import com.epavfra.task.repository.PersonRepository;
+import com.epavfra.task.utils.constants.ApiPaths;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.sql.DataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.annotation.Bean;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Drives many concurrent GET requests against a running server. Every request holds a pooled
+ * connection for {@link #QUERY_LATENCY} in a slow query (H2 {@code Thread.sleep} alias, or {@code
+ * pg_sleep} on PostgreSQL) and then reads the person from the database, with the person cache
+ * disabled. The pool is much smaller than the concurrency, so the run shows how each threading
+ * mode queues in front of it: requests that wait longer than the production connection timeout
+ * for a {@code DatabaseBulkheadFilter} permit are answered with 503 and reported as rejected.
+ * Subclasses choose the threading mode; the results of both are written to {@code
+ * target/benchmarks}.
+ */
+@Slf4j
+@Tag("benchmark")
+abstract class AbstractThroughputBenchmark {
+
+  static final Duration QUERY_LATENCY = Duration.ofMillis(50);
+  /** Properties shared by the subclasses' {@code @SpringBootTest}. */
+  static final String POOL_SIZE_PROPERTY =
+      "spring.datasource.hikari.maximum-pool-size=${benchmark.pool-size:20}";
+  static final String CONNECTION_TIMEOUT_PROPERTY =
+      "spring.datasource.hikari.connection-timeout=${benchmark.connection-timeout:2000}";
+  static final String NO_CACHE_PROPERTY = "person.cache.maximum-size=0";
+
+  private static final int CONCURRENCY = Integer.getInteger("benchmark.concurrency", 1000);
+  private static final int REQUESTS = Integer.getInteger("benchmark.requests", 20_000);
+  private static final Duration REQUEST_TIMEOUT = Duration.ofMinutes(2);
+
+  @LocalServerPort private int port;
+  @Autowired private PersonRepository personRepository;
+  @Autowired private DataSource dataSource;
+
+  abstract String mode();
+
+  @Test
+  void throughputUnderHighConcurrency() throws Exception {
+    personRepository.deleteAll();
+    Long id =
+        personRepository
+            .save(new Person.Builder("John", "Smith", "12345678901", Sex.MALE).build())
+            .getId();
+    URI uri = URI.create("http://localhost:" + port + ApiPaths.PERSONS_PATH + id);
+    HttpClient client =
+        HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(10))
+            .build();
+    HikariDataSource pool = dataSource.unwrap(HikariDataSource.class);
+    Semaphore inFlight = new Semaphore(CONCURRENCY);
+    AtomicInteger rejected = new AtomicInteger();
+    AtomicInteger failures = new AtomicInteger();
+    PoolSampler sampler = new PoolSampler(pool.getHikariPoolMXBean());
+
+    long start = System.nanoTime();
+    try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+      clients.execute(sampler);
+      List<Future<?>> responses = new ArrayList<>(REQUESTS);
+      for (int i = 0; i < REQUESTS; i++) {
+        inFlight.acquire();
+        responses.add(
+            clients.submit(
+                () -> {
+                  try {
+                    HttpResponse<Void> response =
+                        client.send(
+                            HttpRequest.newBuilder(uri).timeout(REQUEST_TIMEOUT).GET().build(),
+                            HttpResponse.BodyHandlers.discarding());
+                    if (response.statusCode() == HttpStatus.SERVICE_UNAVAILABLE.value()) {
+                      rejected.incrementAndGet();
+                    } else if (response.statusCode() != HttpStatus.OK.value()) {
+                      failures.incrementAndGet();
+                    }
+                  } catch (IOException | InterruptedException e) {
+                    failures.incrementAndGet();
+                  } finally {
+                    inFlight.release();
+                  }
+                }));
+      }
+      for (Future<?> response : responses) {
+        response.get();
+      }
+      sampler.stop();
+    }
+    double seconds = (System.nanoTime() - start) / 1e9;
+    int served = REQUESTS - rejected.get() - failures.get();
+    String result =
+        String.format(
+            "mode=%s concurrency=%d requests=%d pool=%d connection-timeout=%dms served=%d "
+                + "rejected=%d failures=%d "
+                + "seconds=%.2f throughput=%.0f req/s max-pending-connections=%d "
+                + "max-active-connections=%d%n",
+            mode(),
+            CONCURRENCY,
+            REQUESTS,
+            pool.getMaximumPoolSize(),
+            pool.getConnectionTimeout(),
+            served,
+            rejected.get(),
+            failures.get(),
+            seconds,
+            served / seconds,
+            sampler.maxPending,
+            sampler.maxActive);
+    log.info(result.strip());
+    Path output = Path.of("target", "benchmarks", "threading-" + mode() + ".txt");
+    Files.createDirectories(output.getParent());
+    Files.writeString(output, result);
+    assertThat(failures.get()).isZero();
+    assertThat(sampler.maxActive).isLessThanOrEqualTo(pool.getMaximumPoolSize());
+    assertThat(sampler.maxPending).isZero();
+  }
+
+  /** Records the peak number of busy connections and of threads waiting for one. */
+  private static final class PoolSampler implements Runnable {
+
+    private final HikariPoolMXBean pool;
+    private final AtomicBoolean running = new AtomicBoolean(true);
+    private volatile int maxPending;
+    private volatile int maxActive;
+
+    private PoolSampler(final HikariPoolMXBean pool) {
+      this.pool = pool;
+    }
+
+    @Override
+    public void run() {
+      while (running.get()) {
+        maxPending = Math.max(maxPending, pool.getThreadsAwaitingConnection());
+        maxActive = Math.max(maxActive, pool.getActiveConnections());
+        try {
+          Thread.sleep(5);
+        } catch (InterruptedException e) {
+          return;
+        }
+      }
+    }
+
+    void stop() {
+      running.set(false);
+    }
+  }
+
+  @TestConfiguration
+  static class SlowQueryConfiguration implements WebMvcConfigurer {
+
+    @Autowired private JdbcTemplate jdbcTemplate;
+
+    /** Holds a pooled connection for {@link #QUERY_LATENCY} before the request is handled. */
+    @Bean
+    HandlerInterceptor slowQuery() {
+      String sleep = sleepStatement();
+      return new HandlerInterceptor() {
+        @Override
+        public boolean preHandle(
+            HttpServletRequest request, HttpServletResponse response, Object handler) {
+          jdbcTemplate.execute(sleep);
+          return true;
+        }
+      };
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+      registry.addInterceptor(slowQuery());
+    }
+
+    private String sleepStatement() {
+      String database =
+          jdbcTemplate.execute(
+              (ConnectionCallback<String>)
+                  connection -> connection.getMetaData().getDatabaseProductName());
+      if ("PostgreSQL".equals(database)) {
+        return "SELECT pg_sleep(" + QUERY_LATENCY.toMillis() / 1000.0 + ")";
+      }
+      jdbcTemplate.execute(
+          "CREATE ALIAS IF NOT EXISTS BENCHMARK_SLEEP FOR 'java.lang.Thread.sleep(long)'");
+      return "CALL BENCHMARK_SLEEP(" + QUERY_LATENCY.toMillis() + ")";
+    }
+  }
+}
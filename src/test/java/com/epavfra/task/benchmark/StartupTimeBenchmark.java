@@ -0,0 +1,212 @@
+package com.epavfra.task.benchmark;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import com.epavfra.task.TaskApplication;
+import com.epavfra.task.utils.constants.ApiPaths;
+import java.io.File;
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.jar.JarFile;
+import lombok.extern.slf4j.Slf4j;
+import org.h2.Driver;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.FileSystemUtils;
+
+/**
+ * Measures the time from launching the packaged application to its first successful {@code GET
+ * /api/v1/persons/}, for the plain jar and for the extracted layout with and without Spring AOT
+ * and a CDS archive. Needs the jar built by {@code mvn package -Paot -DskipTests}; the
+ * application runs on an in-memory H2 database unless {@code SPRING_DATASOURCE_URL} is set.
+ * Results are written to {@code target/benchmarks/startup.txt}.
+ */
+@Slf4j
+@Tag("benchmark")
+class StartupTimeBenchmark {
+
+  private static final int RUNS = Integer.getInteger("benchmark.startup.runs", 3);
+  private static final Duration STARTUP_TIMEOUT = Duration.ofMinutes(2);
+  private static final Path JAR = Path.of("target", "task-1.0.0.jar");
+  private static final Path WORK_DIR = Path.of("target", "benchmarks", "startup");
+  private static final String AOT_INITIALIZER =
+      TaskApplication.class.getName().replace('.', '/') + "__ApplicationContextInitializer.class";
+
+  private final HttpClient client =
+      HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(1)).build();
+
+  private record Mode(String name, List<String> jvmArgs, String classPath, String mainClass) {}
+
+  @Test
+  void timeToFirstRequest() throws Exception {
+    assumeTrue(Files.exists(JAR) && hasAotClasses(), "Build with mvn package -Paot first");
+    FileSystemUtils.deleteRecursively(WORK_DIR);
+    Files.createDirectories(WORK_DIR);
+    String h2 =
+        Path.of(Driver.class.getProtectionDomain().getCodeSource().getLocation().toURI())
+            .toString();
+    String extractedClassPath =
+        extract().resolve(JAR.getFileName()) + File.pathSeparator + h2;
+
+    Path cdsArchive = train("cds", List.of(), extractedClassPath);
+    Path aotCdsArchive =
+        train("aot-cds", List.of("-Dspring.aot.enabled=true"), extractedClassPath);
+    List<Mode> modes =
+        List.of(
+            new Mode(
+                "jar",
+                List.of("-Dloader.path=" + h2),
+                JAR.toString(),
+                "org.springframework.boot.loader.launch.PropertiesLauncher"),
+            new Mode("extracted", List.of(), extractedClassPath, TaskApplication.class.getName()),
+            new Mode(
+                "aot",
+                List.of("-Dspring.aot.enabled=true"),
+                extractedClassPath,
+                TaskApplication.class.getName()),
+            new Mode(
+                "cds",
+                List.of("-XX:SharedArchiveFile=" + cdsArchive),
+                extractedClassPath,
+                TaskApplication.class.getName()),
+            new Mode(
+                "aot-cds",
+                List.of("-XX:SharedArchiveFile=" + aotCdsArchive, "-Dspring.aot.enabled=true"),
+                extractedClassPath,
+                TaskApplication.class.getName()));
+
+    StringBuilder report = new StringBuilder();
+    for (Mode mode : modes) {
+      List<Long> millis = new ArrayList<>(RUNS);
+      for (int run = 0; run < RUNS; run++) {
+        millis.add(timeToFirstRequest(mode, run));
+      }
+      millis.sort(null);
+      String line =
+          String.format(
+              "mode=%s runs=%d median=%d ms min=%d ms max=%d ms%n",
+              mode.name(), RUNS, millis.get(RUNS / 2), millis.get(0), millis.get(RUNS - 1));
+      log.info(line.strip());
+      report.append(line);
+    }
+    Files.writeString(WORK_DIR.resolveSibling("startup.txt"), report);
+  }
+
+  private long timeToFirstRequest(final Mode mode, final int run) throws Exception {
+    int port = freePort();
+    List<String> command = new ArrayList<>();
+    command.add(javaExecutable());
+    command.addAll(mode.jvmArgs());
+    command.addAll(List.of("-cp", mode.classPath(), mode.mainClass(), "--server.port=" + port));
+    command.addAll(databaseArguments());
+    URI uri = URI.create("http://localhost:" + port + ApiPaths.PERSONS_PATH);
+
+    long start = System.nanoTime();
+    Process process =
+        new ProcessBuilder(command)
+            .redirectErrorStream(true)
+            .redirectOutput(WORK_DIR.resolve(mode.name() + "-" + run + ".log").toFile())
+            .start();
+    try {
+      while (System.nanoTime() - start < STARTUP_TIMEOUT.toNanos()) {
+        assertThat(process.isAlive()).as("%s exited during startup", mode.name()).isTrue();
+        if (isUp(uri)) {
+          return (System.nanoTime() - start) / 1_000_000;
+        }
+        Thread.sleep(10);
+      }
+      throw new AssertionError(mode.name() + " did not serve requests within " + STARTUP_TIMEOUT);
+    } finally {
+      process.destroy();
+      process.waitFor();
+    }
+  }
+
+  private boolean isUp(final URI uri) throws InterruptedException {
+    try {
+      HttpResponse<Void> response =
+          client.send(
+              HttpRequest.newBuilder(uri).GET().build(), HttpResponse.BodyHandlers.discarding());
+      return response.statusCode() == 200;
+    } catch (IOException e) {
+      return false;
+    }
+  }
+
+  /** The layout the container image runs: the application jar next to its libraries. */
+  private Path extract() throws Exception {
+    Path destination = WORK_DIR.resolve("extracted");
+    run(
+        "extract",
+        List.of(
+            javaExecutable(),
+            "-Djarmode=tools",
+            "-jar",
+            JAR.toString(),
+            "extract",
+            "--destination",
+            destination.toString()));
+    return destination;
+  }
+
+  /** Refreshes the context once without a database and dumps the loaded classes at exit. */
+  private Path train(final String name, final List<String> jvmArgs, final String classPath)
+      throws Exception {
+    Path archive = WORK_DIR.resolve(name + ".jsa");
+    List<String> command = new ArrayList<>();
+    command.add(javaExecutable());
+    command.add("-XX:ArchiveClassesAtExit=" + archive);
+    command.add("-Dspring.context.exit=onRefresh");
+    command.add("-Dspring.config.import=classpath:cds-training.properties");
+    command.addAll(jvmArgs);
+    command.addAll(List.of("-cp", classPath, TaskApplication.class.getName()));
+    run("train-" + name, command);
+    return archive;
+  }
+
+  private static void run(final String name, final List<String> command) throws Exception {
+    Process process =
+        new ProcessBuilder(command)
+            .redirectErrorStream(true)
+            .redirectOutput(WORK_DIR.resolve(name + ".log").toFile())
+            .start();
+    assertThat(process.waitFor()).as("%s exit code", name).isZero();
+  }
+
+  private static List<String> databaseArguments() {
+    if (System.getenv("SPRING_DATASOURCE_URL") != null) {
+      return List.of();
+    }
+    return List.of(
+        "--spring.datasource.url=jdbc:h2:mem:startup;MODE=PostgreSQL",
+        "--spring.datasource.driver-class-name=org.h2.Driver",
+        "--spring.datasource.username=sa",
+        "--spring.datasource.password=");
+  }
+
+  private static boolean hasAotClasses() throws IOException {
+    try (JarFile jar = new JarFile(JAR.toFile())) {
+      return jar.getEntry("BOOT-INF/classes/" + AOT_INITIALIZER) != null;
+    }
+  }
+
+  private static String javaExecutable() {
+    return Path.of(System.getProperty("java.home"), "bin", "java").toString();
+  }
+
+  private static int freePort() throws IOException {
+    try (ServerSocket socket = new ServerSocket(0)) {
+      return socket.getLocalPort();
+    }
+  }
+}
@@ -0,0 +1,23 @@
+package com.epavfra.task.benchmark;
+
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+@SpringBootTest(
+    webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+    properties = {
+      "spring.threads.virtual.enabled=true",
+      AbstractThroughputBenchmark.POOL_SIZE_PROPERTY,
+      AbstractThroughputBenchmark.CONNECTION_TIMEOUT_PROPERTY,
+      AbstractThroughputBenchmark.NO_CACHE_PROPERTY
+    })
+@ActiveProfiles("test")
+@Import(AbstractThroughputBenchmark.SlowQueryConfiguration.class)
+class VirtualThreadThroughputBenchmark extends AbstractThroughputBenchmark {
+
+  @Override
+  String mode() {
+    return "virtual";
+  }
+}
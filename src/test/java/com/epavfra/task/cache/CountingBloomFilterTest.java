@@ -0,0 +1,48 @@
+package com.epavfra.task.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.stream.LongStream;
+import org.junit.jupiter.api.Test;
+
+class CountingBloomFilterTest {
+
+  private static final long FIRST_PIN = 10_000_000_000L;
+
+  @Test
+  void testAddedKeysAreAlwaysReported() {
+    CountingBloomFilter filter = new CountingBloomFilter(10_000, 0.01);
+    LongStream.range(FIRST_PIN, FIRST_PIN + 10_000).forEach(filter::add);
+    assertThat(LongStream.range(FIRST_PIN, FIRST_PIN + 10_000).allMatch(filter::mightContain))
+        .isTrue();
+  }
+
+  @Test
+  void testFalsePositiveRateStaysNearConfiguredProbability() {
+    CountingBloomFilter filter = new CountingBloomFilter(10_000, 0.01);
+    LongStream.range(FIRST_PIN, FIRST_PIN + 10_000).forEach(filter::add);
+    long falsePositives =
+        LongStream.range(FIRST_PIN + 10_000, FIRST_PIN + 110_000)
+            .filter(filter::mightContain)
+            .count();
+    assertThat(falsePositives).isLessThan(2_000);
+  }
+
+  @Test
+  void testRemovedKeyIsNoLongerReported() {
+    CountingBloomFilter filter = new CountingBloomFilter(1_000, 0.01);
+    filter.add(FIRST_PIN);
+    filter.add(FIRST_PIN + 1);
+    filter.remove(FIRST_PIN);
+    assertThat(filter.mightContain(FIRST_PIN)).isFalse();
+    assertThat(filter.mightContain(FIRST_PIN + 1)).isTrue();
+  }
+
+  @Test
+  void testRemovingUnknownKeyKeepsOtherKeys() {
+    CountingBloomFilter filter = new CountingBloomFilter(1_000, 0.01);
+    filter.add(FIRST_PIN);
+    filter.remove(FIRST_PIN + 1);
+    assertThat(filter.mightContain(FIRST_PIN)).isTrue();
+  }
+}
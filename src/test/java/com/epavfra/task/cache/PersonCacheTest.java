@@ -0,0 +1,88 @@
+package com.epavfra.task.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.epavfra.task.dto.PersonDto;
+import com.epavfra.task.model.Sex;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class PersonCacheTest {
+
+  private SimpleMeterRegistry meterRegistry;
+  private PersonCache personCache;
+
+  @BeforeEach
+  void setUp() {
+    meterRegistry = new SimpleMeterRegistry();
+    personCache = new PersonCache(100, Duration.ofMinutes(1), meterRegistry);
+  }
+
+  @Test
+  void testOlderVersionDoesNotReplaceNewerVersion() {
+    PersonDto newer = person("Johnny");
+    personCache.put(1L, 2, newer);
+    personCache.put(1L, 1, person("John"));
+    assertThat(personCache.get(1L)).contains(newer);
+  }
+
+  @Test
+  void testNewerVersionReplacesOlderVersion() {
+    PersonDto newer = person("Johnny");
+    personCache.put(1L, 1, person("John"));
+    personCache.put(1L, 2, newer);
+    assertThat(personCache.get(1L)).contains(newer);
+  }
+
+  @Test
+  void testCallersCannotChangeTheCachedPerson() {
+    PersonDto put = person("John");
+    personCache.put(1L, 1, put);
+    put.setName("Johnny");
+    put.getEmailAddresses().add("john@example.com");
+    personCache.get(1L).orElseThrow().getPhoneNumbers().add("+385-1234567");
+
+    PersonDto cached = personCache.get(1L).orElseThrow();
+    assertThat(cached).isNotSameAs(personCache.get(1L).orElseThrow());
+    assertThat(cached.getName()).isEqualTo("John");
+    assertThat(cached.getEmailAddresses()).isEmpty();
+    assertThat(cached.getPhoneNumbers()).isEmpty();
+  }
+
+  @Test
+  void testDeletedPersonIsNotCachedAgain() {
+    personCache.put(1L, 1, person("John"));
+    personCache.evictDeletedAfterCommit(1L);
+    personCache.put(1L, 1, person("John"));
+    assertThat(personCache.get(1L)).isEmpty();
+  }
+
+  @Test
+  void testStatisticsArePublished() {
+    personCache.get(1L);
+    personCache.put(1L, 0, person("John"));
+    personCache.get(1L);
+    assertThat(
+            meterRegistry
+                .get("cache.gets")
+                .tag("cache", PersonCache.CACHE_NAME)
+                .tag("result", "hit")
+                .functionCounter()
+                .count())
+        .isEqualTo(1.0);
+    assertThat(
+            meterRegistry
+                .get("cache.gets")
+                .tag("cache", PersonCache.CACHE_NAME)
+                .tag("result", "miss")
+                .functionCounter()
+                .count())
+        .isEqualTo(1.0);
+  }
+
+  private static PersonDto person(final String name) {
+    return new PersonDto.Builder(name, "Smith", "12345678901", Sex.MALE).build();
+  }
+}
@@ -0,0 +1,112 @@
+package com.epavfra.task.datasource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.epavfra.task.utils.constants.ApiPaths;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+class DatabaseBulkheadFilterTest {
+
+  private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+  private DatabaseBulkheadFilter filter;
+
+  @BeforeEach
+  void setUp() {
+    filter =
+        new DatabaseBulkheadFilter(
+            new ObjectMapper().registerModule(new JavaTimeModule()),
+            new StaticListableBeanFactory(Map.of("meterRegistry", meterRegistry))
+                .getBeanProvider(MeterRegistry.class),
+            1,
+            Duration.ofMillis(100));
+  }
+
+  @Test
+  void testRequestOverTheLimitIsRejectedWith503() throws Exception {
+    CountDownLatch entered = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    CompletableFuture<MockHttpServletResponse> first =
+        CompletableFuture.supplyAsync(
+            () ->
+                filter(
+                    (request, response) -> {
+                      entered.countDown();
+                      await(release);
+                    }));
+    assertThat(entered.await(5, TimeUnit.SECONDS)).isTrue();
+
+    MockHttpServletResponse rejected = filter((request, response) -> {});
+    release.countDown();
+
+    assertThat(rejected.getStatus()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE.value());
+    assertThat(rejected.getHeader(HttpHeaders.RETRY_AFTER)).isEqualTo("1");
+    assertThat(first.get(5, TimeUnit.SECONDS).getStatus()).isEqualTo(HttpStatus.OK.value());
+    assertThat(meterRegistry.counter("person.bulkhead", "result", "rejected").count())
+        .isEqualTo(1);
+  }
+
+  @Test
+  void testPermitIsReturnedAfterEachRequest() {
+    for (int i = 0; i < 3; i++) {
+      assertThat(filter((request, response) -> {}).getStatus()).isEqualTo(HttpStatus.OK.value());
+    }
+  }
+
+  @Test
+  void testEventStreamIsNotLimited() throws Exception {
+    CountDownLatch entered = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    CompletableFuture.runAsync(
+        () ->
+            filter(
+                (request, response) -> {
+                  entered.countDown();
+                  await(release);
+                }));
+    assertThat(entered.await(5, TimeUnit.SECONDS)).isTrue();
+
+    MockHttpServletRequest events =
+        new MockHttpServletRequest("GET", ApiPaths.PERSON_EVENTS_PATH);
+    MockHttpServletResponse response = new MockHttpServletResponse();
+    filter.doFilter(events, response, new MockFilterChain());
+    release.countDown();
+
+    assertThat(response.getStatus()).isEqualTo(HttpStatus.OK.value());
+  }
+
+  private MockHttpServletResponse filter(final FilterChain chain) {
+    MockHttpServletRequest request = new MockHttpServletRequest("GET", ApiPaths.PERSONS_PATH + 1);
+    MockHttpServletResponse response = new MockHttpServletResponse();
+    try {
+      filter.doFilter(request, response, chain);
+    } catch (Exception e) {
+      throw new IllegalStateException(e);
+    }
+    return response;
+  }
+
+  private static void await(final CountDownLatch latch) {
+    try {
+      latch.await(5, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
@@ -0,0 +1,56 @@
+package com.epavfra.task.idempotency;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.epavfra.task.idempotency.IdempotencyStore.Entry;
+import com.epavfra.task.idempotency.IdempotencyStore.StoredResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class IdempotencyStoreTest {
+
+  private IdempotencyStore idempotencyStore;
+
+  @BeforeEach
+  void setUp() {
+    idempotencyStore = new IdempotencyStore(1000, Duration.ofMinutes(1), new SimpleMeterRegistry());
+  }
+
+  @Test
+  void testResponsesWithinTheLimitAreKept() {
+    Entry first = store("first", 300);
+    Entry second = store("second", 300);
+
+    assertThat(idempotencyStore.putIfAbsent("first", entry())).isSameAs(first);
+    assertThat(idempotencyStore.putIfAbsent("second", entry())).isSameAs(second);
+  }
+
+  @Test
+  void testResponseLargerThanTheLimitIsNotKept() {
+    Entry pending = entry();
+    idempotencyStore.putIfAbsent("large", pending);
+    assertThat(idempotencyStore.putIfAbsent("large", entry())).isSameAs(pending);
+
+    idempotencyStore.complete("large", pending, response(2000));
+
+    assertThat(idempotencyStore.putIfAbsent("large", entry())).isNull();
+  }
+
+  private Entry store(final String key, final int bodyLength) {
+    Entry entry = entry();
+    idempotencyStore.putIfAbsent(key, entry);
+    idempotencyStore.complete(key, entry, response(bodyLength));
+    return entry;
+  }
+
+  private static Entry entry() {
+    return new Entry("fingerprint", new CompletableFuture<>());
+  }
+
+  private static StoredResponse response(final int bodyLength) {
+    return new StoredResponse(201, "application/json", null, new byte[bodyLength]);
+  }
+}
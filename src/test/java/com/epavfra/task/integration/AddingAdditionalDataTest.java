@@ -1,15 +1,23 @@
 package com.epavfra.task.integration;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import com.epavfra.task.model.Person;
+import com.epavfra.task.model.PhoneNumber;
 import com.epavfra.task.repository.PersonRepository;
 import com.epavfra.task.utils.constants.ApiPaths;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.EntityManagerFactory;
 import jakarta.persistence.EntityTransaction;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.IntStream;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -115,6 +123,7 @@ public class AddingAdditionalDataTest {
               .setParameter("id", 1L)
               .getSingleResult();
       assertThat(updatedPerson.getPhoneNumbers())
+          .extracting(PhoneNumber::getNumber)
           .containsExactlyInAnyOrder("+122-2234567", "+152-2234533", "+123-45627890");
       tx.commit();
     } catch (Exception ex) {
@@ -125,6 +134,121 @@ public class AddingAdditionalDataTest {
     }
   }
 
+  @Test
+  void concurrentEmailAppendsDoNotConflict() throws Exception {
+    addPersonToDatabase();
+    String url =
+        UriComponentsBuilder.fromUriString(ApiPaths.ADD_ADDRESSES_PATH)
+            .buildAndExpand(1L)
+            .toUriString();
+    ExecutorService executor = Executors.newFixedThreadPool(8);
+    try {
+      List<Future<Integer>> responses = new ArrayList<>();
+      for (int i = 0; i < 16; i++) {
+        String email = "john" + i + "@example.com";
+        responses.add(
+            executor.submit(
+                () ->
+                    mockMvc
+                        .perform(
+                            post(url)
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content("{\"emailAddresses\": [\"" + email + "\"]}"))
+                        .andReturn()
+                        .getResponse()
+                        .getStatus()));
+      }
+      for (Future<Integer> response : responses) {
+        assertThat(response.get()).isEqualTo(201);
+      }
+    } finally {
+      executor.shutdown();
+    }
+    Person updatedPerson = loadPersonWithEmailAddresses();
+    assertThat(updatedPerson.getEmailAddresses())
+        .hasSize(17)
+        .containsAll(IntStream.range(0, 16).mapToObj(i -> "john" + i + "@example.com").toList());
+  }
+
+  @Test
+  void appendingExistingEmailIsIdempotent() throws Exception {
+    addPersonToDatabase();
+    String url =
+        UriComponentsBuilder.fromUriString(ApiPaths.ADD_ADDRESSES_PATH)
+            .buildAndExpand(1L)
+            .toUriString();
+    for (int i = 0; i < 2; i++) {
+      mockMvc
+          .perform(
+              post(url)
+                  .contentType(MediaType.APPLICATION_JSON)
+                  .content(
+                      """
+                      {"emailAddresses": ["johnSmith@gmail.com", "new@example.com"]}
+                      """))
+          .andExpect(status().isCreated());
+    }
+    assertThat(loadPersonWithEmailAddresses().getEmailAddresses())
+        .containsExactlyInAnyOrder("johnSmith@gmail.com", "new@example.com");
+  }
+
+  @Test
+  void appendingAnotherFormOfStoredPhoneNumberIsIgnored() throws Exception {
+    addPersonToDatabase();
+    String url =
+        UriComponentsBuilder.fromUriString(ApiPaths.ADD_PHONE_NUMBERS_PATH)
+            .buildAndExpand(1L)
+            .toUriString();
+    mockMvc
+        .perform(
+            post(url)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"phoneNumbers\": [\"123-4562 7890\", \"+122-2234567\"]}"))
+        .andExpect(status().isCreated());
+    EntityManager em = entityManagerFactory.createEntityManager();
+    try {
+      Person updatedPerson =
+          em.createQuery(
+                  "SELECT p FROM Person p LEFT JOIN FETCH p.phoneNumbers WHERE p.id = :id",
+                  Person.class)
+              .setParameter("id", 1L)
+              .getSingleResult();
+      assertThat(updatedPerson.getPhoneNumbers())
+          .extracting(PhoneNumber::getNumber, PhoneNumber::getNumericKey)
+          .containsExactlyInAnyOrder(
+              tuple("+123-45627890", 12345627890L), tuple("+122-2234567", 1222234567L));
+    } finally {
+      em.close();
+    }
+  }
+
+  @Test
+  void appendingToMissingPersonReturnsNotFound() throws Exception {
+    String url =
+        UriComponentsBuilder.fromUriString(ApiPaths.ADD_ADDRESSES_PATH)
+            .buildAndExpand(42L)
+            .toUriString();
+    mockMvc
+        .perform(
+            post(url)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"emailAddresses\": [\"john@example.com\"]}"))
+        .andExpect(status().isNotFound());
+  }
+
+  private Person loadPersonWithEmailAddresses() {
+    EntityManager em = entityManagerFactory.createEntityManager();
+    try {
+      return em.createQuery(
+              "SELECT p FROM Person p LEFT JOIN FETCH p.emailAddresses WHERE p.id = :id",
+              Person.class)
+          .setParameter("id", 1L)
+          .getSingleResult();
+    } finally {
+      em.close();
+    }
+  }
+
   private void addPersonToDatabase() throws Exception {
     String personJson =
         """
@@ -0,0 +1,120 @@
+package com.epavfra.task.integration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.epavfra.task.dto.BatchCreateResultDto;
+import com.epavfra.task.dto.BatchItemResultDto;
+import com.epavfra.task.dto.PersonDto;
+import com.epavfra.task.model.Person;
+import com.epavfra.task.model.Sex;
+import com.epavfra.task.repository.PersonRepository;
+import com.epavfra.task.utils.constants.ApiPaths;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManagerFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.IntStream;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@AutoConfigureMockMvc
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+public class BatchCreateTest {
+
+  @Autowired private MockMvc mockMvc;
+  @Autowired private ObjectMapper objectMapper;
+  @Autowired private PersonRepository personRepository;
+  @Autowired private EntityManagerFactory entityManagerFactory;
+
+  @BeforeEach
+  public void cleanUp() {
+    personRepository.deleteAll();
+  }
+
+  @Test
+  void testBatchReportsPerItemErrors() throws Exception {
+    personRepository.save(
+        new Person.Builder("Existing", "Person", "99999999999", Sex.OTHER)
+            .build());
+    List<PersonDto> batch =
+        List.of(
+            person(1),
+            new PersonDto.Builder("", "Smith", "00000000002", Sex.MALE).build(),
+            person(1),
+            new PersonDto.Builder("Jane", "Doe", "99999999999", Sex.FEMALE).build(),
+            person(3));
+
+    BatchCreateResultDto result = postBatch(batch);
+
+    assertThat(result.getCreated()).isEqualTo(2);
+    assertThat(result.getFailed()).isEqualTo(3);
+    assertThat(result.getItems())
+        .extracting(BatchItemResultDto::getStatus)
+        .containsExactly(
+            BatchItemResultDto.Status.CREATED,
+            BatchItemResultDto.Status.FAILED,
+            BatchItemResultDto.Status.FAILED,
+            BatchItemResultDto.Status.FAILED,
+            BatchItemResultDto.Status.CREATED);
+    assertThat(result.getItems().get(0).getId()).isNotNull();
+    assertThat(personRepository.count()).isEqualTo(3);
+  }
+
+  @Test
+  void testBatchInsertsUseJdbcBatching() throws Exception {
+    List<PersonDto> batch = new ArrayList<>();
+    IntStream.range(0, 200).forEach(i -> batch.add(person(i)));
+    Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    statistics.clear();
+
+    BatchCreateResultDto result = postBatch(batch);
+
+    assertThat(result.getCreated()).isEqualTo(200);
+    assertThat(personRepository.count()).isEqualTo(200);
+    // 200 persons with two contact tables would need 600 inserts without batching.
+    assertThat(statistics.getPrepareStatementCount()).isLessThan(50);
+  }
+
+  @Test
+  void testEmptyBatchIsRejected() throws Exception {
+    mockMvc
+        .perform(
+            post(ApiPaths.BATCH_PERSONS_PATH).contentType(MediaType.APPLICATION_JSON).content("[]"))
+        .andExpect(status().isBadRequest());
+  }
+
+  private BatchCreateResultDto postBatch(final List<PersonDto> batch) throws Exception {
+    MvcResult mvcResult =
+        mockMvc
+            .perform(
+                post(ApiPaths.BATCH_PERSONS_PATH)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(batch)))
+            .andExpect(status().isOk())
+            .andReturn();
+    return objectMapper.readValue(
+        mvcResult.getResponse().getContentAsString(), BatchCreateResultDto.class);
+  }
+
+  private static PersonDto person(final int i) {
+    return new PersonDto.Builder("Name" + i, "Surname" + i, String.format("%011d", i), Sex.MALE)
+        .addEmailAddresses(Set.of("person" + i + "@example.com"))
+        .addPhoneNumbers(Set.of("+385-" + (1000000 + i)))
+        .build();
+  }
+}
@@ -0,0 +1,123 @@
+package com.epavfra.task.integration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.epavfra.task.dto.PersonDto;
+import com.epavfra.task.model.Sex;
+import com.epavfra.task.repository.PersonRepository;
+import com.epavfra.task.utils.constants.ApiPaths;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@AutoConfigureMockMvc
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+public class BinaryFormatsTest {
+
+  private static final MediaType CBOR = MediaType.APPLICATION_CBOR;
+  private static final MediaType SMILE = new MediaType("application", "x-jackson-smile");
+
+  @Autowired private PersonRepository personRepository;
+  @Autowired private MockMvc mockMvc;
+  @Autowired private ObjectMapper jsonMapper;
+
+  private final CBORMapper cborMapper = new CBORMapper();
+  private final SmileMapper smileMapper = new SmileMapper();
+
+  @BeforeEach
+  public void cleanUp() {
+    personRepository.deleteAll();
+  }
+
+  @Test
+  void createAndFetchPersonAsCbor() throws Exception {
+    byte[] created =
+        mockMvc
+            .perform(
+                post(ApiPaths.PERSONS_PATH)
+                    .contentType(CBOR)
+                    .accept(CBOR)
+                    .content(cborMapper.writeValueAsBytes(person())))
+            .andExpect(status().isCreated())
+            .andExpect(content().contentType(CBOR))
+            .andReturn()
+            .getResponse()
+            .getContentAsByteArray();
+    assertSamePerson(cborMapper.readValue(created, PersonDto.class));
+
+    Long id = personRepository.findAll().get(0).getId();
+    byte[] fetched =
+        mockMvc
+            .perform(get(ApiPaths.PERSONS_PATH + id).accept(CBOR))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(CBOR))
+            .andReturn()
+            .getResponse()
+            .getContentAsByteArray();
+    assertSamePerson(cborMapper.readValue(fetched, PersonDto.class));
+  }
+
+  @Test
+  void listPersonsAsSmileIsSmallerThanJson() throws Exception {
+    mockMvc
+        .perform(
+            post(ApiPaths.PERSONS_PATH)
+                .contentType(SMILE)
+                .content(smileMapper.writeValueAsBytes(person())))
+        .andExpect(status().isCreated());
+
+    byte[] smile = list(SMILE);
+    byte[] json = list(MediaType.APPLICATION_JSON);
+
+    List<PersonDto> persons = smileMapper.readValue(smile, new TypeReference<>() {});
+    assertThat(persons).hasSize(1);
+    assertSamePerson(persons.get(0));
+    List<PersonDto> jsonPersons = jsonMapper.readValue(json, new TypeReference<>() {});
+    assertThat(jsonPersons).usingRecursiveComparison().isEqualTo(persons);
+    assertThat(smile.length).isLessThan(json.length);
+  }
+
+  private byte[] list(final MediaType mediaType) throws Exception {
+    return mockMvc
+        .perform(get(ApiPaths.PERSONS_PATH).accept(mediaType))
+        .andExpect(status().isOk())
+        .andExpect(content().contentType(mediaType))
+        .andExpect(
+            result ->
+                assertThat(result.getResponse().getHeaders(HttpHeaders.VARY))
+                    .contains(HttpHeaders.ACCEPT))
+        .andReturn()
+        .getResponse()
+        .getContentAsByteArray();
+  }
+
+  private static void assertSamePerson(final PersonDto actual) {
+    assertThat(actual).usingRecursiveComparison().ignoringCollectionOrder().isEqualTo(person());
+  }
+
+  private static PersonDto person() {
+    return new PersonDto.Builder("John", "Smith", "12345678901", Sex.MALE)
+        .addEmailAddresses(Set.of("john@example.com", "john.smith@example.com"))
+        .addPhoneNumbers(Set.of("+385-123456789"))
+        .build();
+  }
+}
@@ -0,0 +1,165 @@
+package com.epavfra.task.integration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.epavfra.task.model.Person;
+import com.epavfra.task.model.Sex;
+import com.epavfra.task.repository.PersonRepository;
+import com.epavfra.task.service.PersonService;
+import com.epavfra.task.utils.constants.ApiPaths;
+import com.epavfra.task.utils.specification.MatchMode;
+import jakarta.persistence.EntityManagerFactory;
+import java.util.Set;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@AutoConfigureMockMvc
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+public class ConditionalGetTest {
+
+  @Autowired private PersonRepository personRepository;
+  @Autowired private MockMvc mockMvc;
+  @Autowired private EntityManagerFactory entityManagerFactory;
+  @Autowired private PersonService personService;
+
+  @BeforeEach
+  public void cleanUp() {
+    personRepository.deleteAll();
+  }
+
+  @Test
+  void notModifiedPersonIsAnsweredWithoutLoadingContacts() throws Exception {
+    Long id = savePerson("12345678901", "Smith");
+    Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    statistics.clear();
+
+    MvcResult result =
+        mockMvc
+            .perform(get(ApiPaths.PERSONS_PATH + id).header(HttpHeaders.IF_NONE_MATCH, "\"0\""))
+            .andExpect(status().isNotModified())
+            .andReturn();
+
+    assertThat(result.getResponse().getHeader(HttpHeaders.ETAG)).isEqualTo("W/\"0\"");
+    assertThat(result.getResponse().getContentLength()).isZero();
+    assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    assertThat(statistics.getCollectionLoadCount()).isZero();
+  }
+
+  @Test
+  void personETagChangesWhenContactsAreAppended() throws Exception {
+    Long id = savePerson("12345678901", "Smith");
+    String eTag = eTag(get(ApiPaths.PERSONS_PATH + id));
+
+    mockMvc
+        .perform(
+            post(ApiPaths.PERSONS_PATH + id + "/addresses")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"emailAddresses\": [\"john@example.com\"]}"))
+        .andExpect(status().isCreated());
+
+    MvcResult result =
+        mockMvc
+            .perform(get(ApiPaths.PERSONS_PATH + id).header(HttpHeaders.IF_NONE_MATCH, eTag))
+            .andExpect(status().isOk())
+            .andReturn();
+    assertThat(result.getResponse().getHeader(HttpHeaders.ETAG)).isNotEqualTo(eTag);
+    assertThat(result.getResponse().getContentAsString()).contains("john@example.com");
+  }
+
+  @Test
+  void eTagIsWeakBecauseItCoversEveryFormat() throws Exception {
+    Long id = savePerson("12345678901", "Smith");
+    String jsonETag = eTag(get(ApiPaths.PERSONS_PATH + id).accept(MediaType.APPLICATION_JSON));
+    String cborETag = eTag(get(ApiPaths.PERSONS_PATH + id).accept("application/cbor"));
+
+    assertThat(jsonETag).startsWith("W/").isEqualTo(cborETag);
+    assertThat(eTag(get(ApiPaths.PERSONS_PATH + "?surname=Smith"))).startsWith("W/");
+  }
+
+  @Test
+  void missingPersonIsNotFound() throws Exception {
+    mockMvc
+        .perform(get(ApiPaths.PERSONS_PATH + 999).header(HttpHeaders.IF_NONE_MATCH, "\"0\""))
+        .andExpect(status().isNotFound());
+  }
+
+  @Test
+  void collectionETagTracksOnlyMatchingPersons() throws Exception {
+    savePerson("12345678901", "Smith");
+    String url = ApiPaths.PERSONS_PATH + "?surname=Smith";
+    String eTag = eTag(get(url));
+
+    mockMvc
+        .perform(get(url).header(HttpHeaders.IF_NONE_MATCH, eTag))
+        .andExpect(status().isNotModified());
+
+    savePerson("12345678902", "Doe");
+    mockMvc
+        .perform(get(url).header(HttpHeaders.IF_NONE_MATCH, eTag))
+        .andExpect(status().isNotModified());
+
+    savePerson("12345678903", "Smithson");
+    mockMvc
+        .perform(get(url).header(HttpHeaders.IF_NONE_MATCH, eTag))
+        .andExpect(status().isOk());
+  }
+
+  @Test
+  void unconditionalListGetTagsTheRowsItReturns() throws Exception {
+    savePerson("12345678901", "Smith");
+    savePerson("12345678902", "Smithson");
+    Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    statistics.clear();
+    personService.filterPersons(null, "Smith", null, MatchMode.CONTAINS);
+    long listStatements = statistics.getPrepareStatementCount();
+
+    statistics.clear();
+    String eTag = eTag(get(ApiPaths.PERSONS_PATH + "?surname=Smith"));
+
+    assertThat(statistics.getPrepareStatementCount()).isEqualTo(listStatements);
+    assertThat(eTag)
+        .isEqualTo(
+            "W/\""
+                + personService.getPersonsVersionTag(null, "Smith", null, MatchMode.CONTAINS)
+                + "\"");
+  }
+
+  private String eTag(
+      final RequestBuilder request) throws Exception {
+    String eTag =
+        mockMvc
+            .perform(request)
+            .andExpect(status().isOk())
+            .andReturn()
+            .getResponse()
+            .getHeader(HttpHeaders.ETAG);
+    assertThat(eTag).isNotBlank();
+    return eTag;
+  }
+
+  private Long savePerson(final String pin, final String surname) {
+    return personRepository
+        .save(
+            new Person.Builder("John", surname, pin, Sex.MALE)
+                .addEmailAddresses(Set.of("john." + pin + "@example.com"))
+                .build())
+        .getId();
+  }
+}
@@ -0,0 +1,100 @@
+package com.epavfra.task.integration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.doAnswer;
+
+import com.epavfra.task.cache.PersonCache;
+import com.epavfra.task.dto.AdditionalEmailRequestDto;
+import com.epavfra.task.dto.AdditionalPhoneNumberDto;
+import com.epavfra.task.dto.PersonDto;
+import com.epavfra.task.model.Person;
+import com.epavfra.task.model.Sex;
+import com.epavfra.task.repository.PersonContactRepository;
+import com.epavfra.task.repository.PersonRepository;
+import com.epavfra.task.service.PersonService;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+
+/** Appends several contacts at once to a cached person, with and without per-row counts. */
+@SpringBootTest
+@ActiveProfiles("test")
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+public class ContactAppendTest {
+
+  @Autowired private PersonService personService;
+  @Autowired private PersonRepository personRepository;
+  @Autowired private PersonCache personCache;
+  @MockitoSpyBean private PersonContactRepository personContactRepository;
+
+  private Long id;
+
+  @BeforeEach
+  public void setUp() {
+    personRepository.deleteAll();
+    id =
+        personRepository
+            .save(
+                new Person.Builder("John", "Smith", "12345678901", Sex.MALE)
+                    .addEmailAddresses(Set.of("john@example.com"))
+                    .addPhoneNumbers(Set.of("+385-1000000"))
+                    .build())
+            .getId();
+    personService.getPersonById(id);
+  }
+
+  @Test
+  void multiValueAppendReachesTheResponseAndTheCache() {
+    assertAppendsReachTheResponseAndTheCache();
+  }
+
+  /** As with pgjdbc's rewritten batches, which report SUCCESS_NO_INFO for every row. */
+  @Test
+  void multiValueAppendWithoutRowCountsReloadsThePerson() {
+    doAnswer(
+            invocation -> {
+              invocation.callRealMethod();
+              return Optional.empty();
+            })
+        .when(personContactRepository)
+        .appendEmailAddresses(anyLong(), any());
+    doAnswer(
+            invocation -> {
+              invocation.callRealMethod();
+              return Optional.empty();
+            })
+        .when(personContactRepository)
+        .appendPhoneNumbers(anyLong(), any());
+
+    assertAppendsReachTheResponseAndTheCache();
+  }
+
+  private void assertAppendsReachTheResponseAndTheCache() {
+    PersonDto withEmails =
+        personService.addEmailAddresses(
+            id,
+            new AdditionalEmailRequestDto(
+                Set.of("john@example.com", "john.smith@example.com", "js@example.com")));
+    PersonDto withPhones =
+        personService.addPhoneNumbers(
+            id, new AdditionalPhoneNumberDto(List.of("+385-2000000", "+385-3000000")));
+
+    assertThat(withEmails.getEmailAddresses())
+        .containsExactlyInAnyOrder(
+            "john@example.com", "john.smith@example.com", "js@example.com");
+    assertThat(withPhones.getEmailAddresses())
+        .containsExactlyInAnyOrderElementsOf(withEmails.getEmailAddresses());
+    assertThat(withPhones.getPhoneNumbers())
+        .containsExactlyInAnyOrder("+385-1000000", "+385-2000000", "+385-3000000");
+    assertThat(personCache.get(id)).contains(withPhones);
+  }
+}
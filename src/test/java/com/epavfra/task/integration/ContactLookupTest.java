@@ -0,0 +1,94 @@
+package com.epavfra.task.integration;
+
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.epavfra.task.model.Person;
+import com.epavfra.task.model.Sex;
+import com.epavfra.task.repository.PersonRepository;
+import com.epavfra.task.utils.constants.ApiPaths;
+import java.util.Set;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@AutoConfigureMockMvc
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+public class ContactLookupTest {
+
+  @Autowired private PersonRepository personRepository;
+  @Autowired private MockMvc mockMvc;
+
+  @BeforeEach
+  public void setUp() {
+    personRepository.deleteAll();
+    savePerson("11111111111", "Ann.Smith@Example.com", "+385-1111111");
+    savePerson("22222222222", "ann.jones@example.com", "+385-2222222");
+    savePerson("33333333333", "ann_x@example.com", "+386-3333333");
+  }
+
+  @Test
+  void exactEmailLookupIgnoresCase() throws Exception {
+    mockMvc
+        .perform(get(ApiPaths.LOOKUP_BY_EMAIL_PATH).param("value", "ann.smith@example.COM"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$", hasSize(1)))
+        .andExpect(jsonPath("$[0].pin").value("11111111111"))
+        .andExpect(jsonPath("$[0].phoneNumbers[0]").value("+385-1111111"));
+  }
+
+  @Test
+  void prefixLookupTreatsWildcardsLiterally() throws Exception {
+    mockMvc
+        .perform(
+            get(ApiPaths.LOOKUP_BY_PHONE_NUMBER_PATH).param("value", "+385").param("match", "PREFIX"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$[*].pin", containsInAnyOrder("11111111111", "22222222222")));
+    mockMvc
+        .perform(get(ApiPaths.LOOKUP_BY_EMAIL_PATH).param("value", "ann_").param("match", "PREFIX"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$", hasSize(1)))
+        .andExpect(jsonPath("$[0].pin").value("33333333333"));
+  }
+
+  @Test
+  void phoneLookupMatchesAnyFormOfTheNumber() throws Exception {
+    mockMvc
+        .perform(get(ApiPaths.LOOKUP_BY_PHONE_NUMBER_PATH).param("value", "385 222 2222"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$", hasSize(1)))
+        .andExpect(jsonPath("$[0].pin").value("22222222222"))
+        .andExpect(jsonPath("$[0].phoneNumbers[0]").value("+385-2222222"));
+  }
+
+  @Test
+  void invalidLookupIsRejected() throws Exception {
+    mockMvc
+        .perform(get(ApiPaths.LOOKUP_BY_EMAIL_PATH).param("value", "ann").param("limit", "0"))
+        .andExpect(status().isBadRequest());
+    mockMvc
+        .perform(get(ApiPaths.LOOKUP_BY_PHONE_NUMBER_PATH).param("value", " "))
+        .andExpect(status().isBadRequest());
+    mockMvc
+        .perform(get(ApiPaths.LOOKUP_BY_PHONE_NUMBER_PATH).param("value", "+1234567890123456"))
+        .andExpect(status().isBadRequest());
+  }
+
+  private void savePerson(final String pin, final String emailAddress, final String phoneNumber) {
+    personRepository.save(
+        new Person.Builder("Ann", "Smith", pin, Sex.FEMALE)
+            .addEmailAddresses(Set.of(emailAddress))
+            .addPhoneNumbers(Set.of(phoneNumber))
+            .build());
+  }
+}
@@ -0,0 +1,111 @@
+package com.epavfra.task.integration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.epavfra.task.repository.PersonRepository;
+import com.epavfra.task.utils.constants.ApiPaths;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@AutoConfigureMockMvc
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+public class DuplicatePinTest {
+
+  private static final String PIN = "12345678901";
+
+  @Autowired private MockMvc mockMvc;
+  @Autowired private PersonRepository personRepository;
+  @Autowired private EntityManagerFactory entityManagerFactory;
+  @Autowired private MeterRegistry meterRegistry;
+  @Autowired private JdbcTemplate jdbcTemplate;
+
+  @BeforeEach
+  public void cleanUp() {
+    personRepository.deleteAll();
+  }
+
+  @Test
+  void duplicatePinIsRejectedWithoutAnInsert() throws Exception {
+    createPerson(PIN).andExpect(status().isCreated());
+    Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    statistics.clear();
+
+    createPerson(PIN).andExpect(status().isConflict());
+
+    assertThat(statistics.getEntityInsertCount()).isZero();
+    assertThat(personRepository.count()).isEqualTo(1);
+  }
+
+  @Test
+  void newPinSkipsTheDuplicateLookup() throws Exception {
+    double absentBefore = meterRegistry.counter("person.pin_filter", "result", "absent").count();
+
+    createPerson(PIN).andExpect(status().isCreated());
+
+    assertThat(meterRegistry.counter("person.pin_filter", "result", "absent").count())
+        .isEqualTo(absentBefore + 1);
+  }
+
+  @Test
+  void getByPinAndRecreateAfterDelete() throws Exception {
+    createPerson(PIN).andExpect(status().isCreated());
+    mockMvc
+        .perform(get(ApiPaths.PERSONS_PATH + "pin/" + PIN))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.pin").value(PIN));
+    mockMvc
+        .perform(get(ApiPaths.PERSONS_PATH + "pin/98765432109"))
+        .andExpect(status().isNotFound());
+
+    Long id = personRepository.findAll().get(0).getId();
+    mockMvc.perform(delete(ApiPaths.PERSONS_PATH + id)).andExpect(status().isNoContent());
+
+    mockMvc.perform(get(ApiPaths.PERSONS_PATH + "pin/" + PIN)).andExpect(status().isNotFound());
+    createPerson(PIN).andExpect(status().isCreated());
+  }
+
+  @Test
+  void pinWrittenBehindTheServiceIsFound() throws Exception {
+    jdbcTemplate.update(
+        "INSERT INTO person (id, name, surname, pin, sex, version) "
+            + "VALUES (NEXT VALUE FOR person_seq, 'Ann', 'Smith', ?, 1, 0)",
+        PIN);
+
+    mockMvc
+        .perform(get(ApiPaths.PERSONS_PATH + "pin/" + PIN))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.pin").value(PIN));
+    createPerson(PIN).andExpect(status().isConflict());
+  }
+
+  private ResultActions createPerson(final String pin) throws Exception {
+    return mockMvc.perform(
+        post(ApiPaths.PERSONS_PATH)
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(
+                """
+                {"name": "John", "surname": "Smith", "pin": "%s", "sex": "MALE"}
+                """
+                    .formatted(pin)));
+  }
+}
@@ -0,0 +1,110 @@
+package com.epavfra.task.integration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.epavfra.task.idempotency.IdempotencyFilter;
+import com.epavfra.task.model.Person;
+import com.epavfra.task.model.Sex;
+import com.epavfra.task.repository.PersonRepository;
+import com.epavfra.task.utils.constants.ApiPaths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@AutoConfigureMockMvc
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+public class IdempotencyTest {
+
+  private static final String PERSON_JSON =
+      """
+      {"name": "John", "surname": "Smith", "pin": "12345678901", "sex": "MALE"}
+      """;
+
+  @Autowired private MockMvc mockMvc;
+  @Autowired private PersonRepository personRepository;
+
+  @BeforeEach
+  public void cleanUp() {
+    personRepository.deleteAll();
+  }
+
+  @Test
+  void retriedCreateIsReplayed() throws Exception {
+    MvcResult first =
+        mockMvc
+            .perform(create("key-1", PERSON_JSON))
+            .andExpect(status().isCreated())
+            .andExpect(header().doesNotExist(IdempotencyFilter.REPLAYED_HEADER))
+            .andReturn();
+
+    MvcResult retry =
+        mockMvc
+            .perform(create("key-1", PERSON_JSON))
+            .andExpect(status().isCreated())
+            .andExpect(header().string(IdempotencyFilter.REPLAYED_HEADER, "true"))
+            .andReturn();
+
+    assertThat(retry.getResponse().getContentAsString())
+        .isEqualTo(first.getResponse().getContentAsString());
+    assertThat(personRepository.count()).isEqualTo(1);
+  }
+
+  @Test
+  void keyReusedForDifferentPayloadIsRejected() throws Exception {
+    mockMvc.perform(create("key-1", PERSON_JSON)).andExpect(status().isCreated());
+    mockMvc
+        .perform(create("key-1", PERSON_JSON.replace("John", "Jane")))
+        .andExpect(status().isUnprocessableEntity());
+  }
+
+  @Test
+  void concurrentDuplicateAppendsRunOnce() throws Exception {
+    Long id =
+        personRepository
+            .save(new Person.Builder("John", "Smith", "12345678901", Sex.MALE).build())
+            .getId();
+    MockHttpServletRequestBuilder append =
+        post(ApiPaths.PERSONS_PATH + id + "/addresses")
+            .header(IdempotencyFilter.IDEMPOTENCY_KEY_HEADER, "append-1")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content("{\"emailAddresses\": [\"john@example.com\"]}");
+
+    List<Future<Integer>> statuses = new ArrayList<>();
+    try (ExecutorService clients = Executors.newFixedThreadPool(8)) {
+      for (int i = 0; i < 8; i++) {
+        statuses.add(
+            clients.submit(() -> mockMvc.perform(append).andReturn().getResponse().getStatus()));
+      }
+      for (Future<Integer> responseStatus : statuses) {
+        assertThat(responseStatus.get()).isEqualTo(201);
+      }
+    }
+
+    assertThat(personRepository.findById(id).orElseThrow().getVersion()).isEqualTo(1);
+  }
+
+  private MockHttpServletRequestBuilder create(final String key, final String json) {
+    return post(ApiPaths.PERSONS_PATH)
+        .header(IdempotencyFilter.IDEMPOTENCY_KEY_HEADER, key)
+        .contentType(MediaType.APPLICATION_JSON)
+        .content(json);
+  }
+}
@@ -0,0 +1,90 @@
+package com.epavfra.task.integration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.epavfra.task.dto.AdditionalEmailRequestDto;
+import com.epavfra.task.dto.PersonDto;
+import com.epavfra.task.service.PersonService;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+/** Migrates a database in the shape the former {@code ddl-auto=update} left behind. */
+@SpringBootTest
+@ActiveProfiles("test")
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+public class LegacySchemaMigrationTest {
+
+  private static final String URL =
+      "jdbc:h2:mem:legacy-" + UUID.randomUUID() + ";MODE=PostgreSQL;DB_CLOSE_DELAY=-1";
+
+  private static final List<String> LEGACY_SCHEMA =
+      List.of(
+          "CREATE TABLE person (id BIGINT GENERATED BY DEFAULT AS IDENTITY, "
+              + "name VARCHAR(255) NOT NULL, pin VARCHAR(11) NOT NULL UNIQUE, "
+              + "sex SMALLINT CHECK (sex BETWEEN 0 AND 2), surname VARCHAR(255) NOT NULL, "
+              + "version INTEGER, PRIMARY KEY (id))",
+          "CREATE TABLE person_email_addresses (person_id BIGINT NOT NULL, "
+              + "email_address VARCHAR(255), FOREIGN KEY (person_id) REFERENCES person)",
+          "CREATE TABLE \"person_phone-numbers\" (person_id BIGINT NOT NULL, "
+              + "phone_number VARCHAR(255), FOREIGN KEY (person_id) REFERENCES person)",
+          "INSERT INTO person (name, surname, pin, sex, version) "
+              + "VALUES ('Ann', 'Smith', '11111111111', 1, 0)",
+          "INSERT INTO person_email_addresses VALUES (1, 'ann@example.com')",
+          "INSERT INTO \"person_phone-numbers\" VALUES (1, '385-123 4567')");
+
+  @Autowired private PersonService personService;
+  @Autowired private JdbcTemplate jdbcTemplate;
+
+  @DynamicPropertySource
+  static void legacyDatabase(final DynamicPropertyRegistry registry) throws SQLException {
+    try (Connection connection = DriverManager.getConnection(URL, "sa", "");
+        Statement statement = connection.createStatement()) {
+      for (String sql : LEGACY_SCHEMA) {
+        statement.execute(sql);
+      }
+    }
+    registry.add("spring.datasource.url", () -> URL);
+  }
+
+  @Test
+  void legacyDatabaseGetsTheMissingSchemaAndKeepsItsData() {
+    assertThat(
+            jdbcTemplate.queryForList(
+                "SELECT \"version\" FROM \"flyway_schema_history\" ORDER BY \"installed_rank\"",
+                String.class))
+        .containsSubsequence("0", "1", "4", "5", "6");
+    assertThat(jdbcTemplate.queryForObject("SELECT NEXT VALUE FOR person_seq", Long.class))
+        .isNotNull();
+
+    PersonDto person = personService.getPersonById(1L);
+    assertThat(person.getEmailAddresses()).containsExactly("ann@example.com");
+    assertThat(person.getPhoneNumbers()).containsExactly("385-123 4567");
+
+    personService.addEmailAddresses(
+        1L, new AdditionalEmailRequestDto(Set.of("ann@example.com", "ann.smith@example.com")));
+    assertThat(
+            jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM person_email_addresses WHERE person_id = 1", Integer.class))
+        .isEqualTo(2);
+    assertThatThrownBy(
+            () ->
+                jdbcTemplate.update(
+                    "INSERT INTO person_email_addresses VALUES (1, 'ann@example.com')"))
+        .isInstanceOf(DataIntegrityViolationException.class);
+  }
+}
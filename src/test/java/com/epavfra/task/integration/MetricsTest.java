@@ -0,0 +1,66 @@
+package com.epavfra.task.integration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.epavfra.task.repository.PersonRepository;
+import com.epavfra.task.utils.constants.ApiPaths;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+public class MetricsTest {
+
+  @Autowired private MockMvc mockMvc;
+  @Autowired private PersonRepository personRepository;
+
+  @BeforeEach
+  public void cleanUp() {
+    personRepository.deleteAll();
+  }
+
+  @Test
+  void prometheusEndpointExposesApplicationMetrics() throws Exception {
+    mockMvc
+        .perform(
+            post(ApiPaths.PERSONS_PATH)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(
+                    """
+                    {"name": "John", "surname": "Smith", "pin": "12345678901", "sex": "MALE"}
+                    """))
+        .andExpect(status().isCreated());
+    mockMvc.perform(get(ApiPaths.PERSONS_PATH)).andExpect(status().isOk());
+
+    String metrics =
+        mockMvc
+            .perform(get("/actuator/prometheus"))
+            .andExpect(status().isOk())
+            .andReturn()
+            .getResponse()
+            .getContentAsString();
+
+    assertThat(metrics)
+        .contains("http_server_requests_seconds_bucket")
+        .contains("uri=\"/api/v1/persons/\"")
+        .contains("person_mapping_seconds_count{direction=\"toDto\"")
+        .contains("person_mapping_seconds_count{direction=\"rowToDto\"")
+        .contains("hibernate_statements_total")
+        .contains("hikaricp_connections_acquire_seconds")
+        .contains("cache_gets_total{cache=\"persons\"");
+  }
+}
@@ -0,0 +1,138 @@
+package com.epavfra.task.integration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.epavfra.task.events.PersonChangeEvent;
+import com.epavfra.task.events.PersonChangeFeed;
+import com.epavfra.task.repository.PersonRepository;
+import com.epavfra.task.utils.constants.ApiPaths;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+import java.util.stream.LongStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@AutoConfigureMockMvc
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+public class PersonChangeFeedTest {
+
+  @Autowired private MockMvc mockMvc;
+  @Autowired private PersonRepository personRepository;
+  @Autowired private PersonChangeFeed personChangeFeed;
+
+  @BeforeEach
+  public void cleanUp() {
+    personRepository.deleteAll();
+  }
+
+  @Test
+  void subscriberReceivesCreateUpdateAndDelete() throws Exception {
+    MockHttpServletResponse stream = subscribe(null);
+
+    createPerson("12345678901");
+    Long id = personRepository.findAll().get(0).getId();
+    mockMvc
+        .perform(
+            post(ApiPaths.PERSONS_PATH + id + "/addresses")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"emailAddresses\": [\"john@example.com\"]}"))
+        .andExpect(status().isCreated());
+    mockMvc.perform(delete(ApiPaths.PERSONS_PATH + id)).andExpect(status().isNoContent());
+
+    String events = awaitContent(stream, content -> content.contains("\"DELETED\""));
+    assertThat(events)
+        .contains("id:1\nevent:person\n")
+        .contains("\"type\":\"CREATED\"")
+        .contains("\"type\":\"UPDATED\"")
+        .contains("\"changedFields\":[\"emailAddresses\"]")
+        .contains("\"pin\":\"12345678901\"");
+    assertThat(events.indexOf("CREATED")).isLessThan(events.indexOf("UPDATED"));
+    assertThat(events.indexOf("UPDATED")).isLessThan(events.indexOf("DELETED"));
+  }
+
+  @Test
+  void reconnectWithLastEventIdReplaysOnlyMissedEvents() throws Exception {
+    createPerson("12345678901");
+    createPerson("12345678902");
+
+    MockHttpServletResponse stream = subscribe(1L);
+
+    String events = awaitContent(stream, content -> content.contains("id:2"));
+    assertThat(events).contains("12345678902").doesNotContain("12345678901");
+  }
+
+  @Test
+  void lastEventIdFromAnotherRunGetsReset() throws Exception {
+    MockHttpServletResponse stream = subscribe(42L);
+
+    assertThat(awaitContent(stream, content -> content.contains("event:reset"))).contains("id:0");
+  }
+
+  @Test
+  void concurrentPublishersDoNotCauseSkippedEvents() throws Exception {
+    MockHttpServletResponse stream = subscribe(null);
+    int events = 400;
+
+    ExecutorService publishers = Executors.newFixedThreadPool(8);
+    for (long id = 1; id <= events; id++) {
+      PersonChangeEvent event = PersonChangeEvent.deleted(id, 0, String.format("%011d", id));
+      publishers.execute(() -> personChangeFeed.publishAfterCommit(event));
+    }
+    publishers.shutdown();
+    assertThat(publishers.awaitTermination(5, TimeUnit.SECONDS)).isTrue();
+
+    String content = awaitContent(stream, received -> received.contains("id:" + events + "\n"));
+    assertThat(LongStream.rangeClosed(1, events).mapToObj(sequence -> "id:" + sequence + "\n"))
+        .allMatch(content::contains);
+  }
+
+  private MockHttpServletResponse subscribe(final Long lastEventId) throws Exception {
+    var subscription = get(ApiPaths.PERSON_EVENTS_PATH).accept(MediaType.TEXT_EVENT_STREAM);
+    if (lastEventId != null) {
+      subscription.header("Last-Event-ID", lastEventId);
+    }
+    return mockMvc.perform(subscription).andExpect(request().asyncStarted()).andReturn().getResponse();
+  }
+
+  private void createPerson(final String pin) throws Exception {
+    mockMvc
+        .perform(
+            post(ApiPaths.PERSONS_PATH)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(
+                    """
+                    {"name": "John", "surname": "Smith", "pin": "%s", "sex": "MALE"}
+                    """
+                        .formatted(pin)))
+        .andExpect(status().isCreated());
+  }
+
+  private static String awaitContent(
+      final MockHttpServletResponse response, final Predicate<String> condition)
+      throws Exception {
+    long deadline = System.currentTimeMillis() + 5_000;
+    String content = response.getContentAsString();
+    while (!condition.test(content) && System.currentTimeMillis() < deadline) {
+      Thread.sleep(20);
+      content = response.getContentAsString();
+    }
+    return content;
+  }
+}
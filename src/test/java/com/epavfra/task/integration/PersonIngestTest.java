@@ -0,0 +1,120 @@
+package com.epavfra.task.integration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.epavfra.task.dto.BatchItemResultDto;
+import com.epavfra.task.dto.IngestStatusDto;
+import com.epavfra.task.repository.PersonRepository;
+import com.epavfra.task.utils.constants.ApiPaths;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultActions;
+
+@SpringBootTest(properties = "person.ingest.queue-capacity=5")
+@ActiveProfiles("test")
+@AutoConfigureMockMvc
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+public class PersonIngestTest {
+
+  @Autowired private MockMvc mockMvc;
+  @Autowired private ObjectMapper objectMapper;
+  @Autowired private PersonRepository personRepository;
+
+  @BeforeEach
+  public void cleanUp() {
+    personRepository.deleteAll();
+  }
+
+  @Test
+  void queuedPersonsAreWrittenAndReported() throws Exception {
+    MvcResult accepted =
+        ingest(person("12345678901"), person("bad-pin"), person("12345678902"))
+            .andExpect(status().isAccepted())
+            .andExpect(header().exists(HttpHeaders.LOCATION))
+            .andExpect(jsonPath("$.submitted").value(3))
+            .andReturn();
+    String location = accepted.getResponse().getHeader(HttpHeaders.LOCATION);
+
+    IngestStatusDto ingestStatus = awaitCompletion(location);
+
+    assertThat(ingestStatus.getCreated()).isEqualTo(2);
+    assertThat(ingestStatus.getFailed()).isEqualTo(1);
+    assertThat(ingestStatus.getItems())
+        .extracting(BatchItemResultDto::getStatus)
+        .containsExactly(
+            BatchItemResultDto.Status.CREATED,
+            BatchItemResultDto.Status.FAILED,
+            BatchItemResultDto.Status.CREATED);
+    assertThat(personRepository.count()).isEqualTo(2);
+  }
+
+  @Test
+  void submissionLargerThanTheFreeCapacityIsRejected() throws Exception {
+    ingest(
+            person("12345678901"),
+            person("12345678902"),
+            person("12345678903"),
+            person("12345678904"),
+            person("12345678905"),
+            person("12345678906"))
+        .andExpect(status().isTooManyRequests())
+        .andExpect(header().string(HttpHeaders.RETRY_AFTER, "1"));
+
+    assertThat(personRepository.count()).isZero();
+  }
+
+  @Test
+  void unknownTrackingIdIsNotFound() throws Exception {
+    mockMvc
+        .perform(get(ApiPaths.PERSONS_PATH + "ingest/unknown"))
+        .andExpect(status().isNotFound());
+  }
+
+  private ResultActions ingest(final String... persons) throws Exception {
+    return mockMvc.perform(
+        post(ApiPaths.INGEST_PERSONS_PATH)
+            .contentType(MediaType.APPLICATION_JSON)
+            .content("[" + String.join(",", persons) + "]"));
+  }
+
+  private IngestStatusDto awaitCompletion(final String location) throws Exception {
+    long deadline = System.currentTimeMillis() + 10_000;
+    while (true) {
+      String body =
+          mockMvc
+              .perform(get(location))
+              .andExpect(status().isOk())
+              .andReturn()
+              .getResponse()
+              .getContentAsString();
+      IngestStatusDto ingestStatus = objectMapper.readValue(body, IngestStatusDto.class);
+      if (ingestStatus.getStatus() == IngestStatusDto.Status.COMPLETED
+          || System.currentTimeMillis() > deadline) {
+        return ingestStatus;
+      }
+      Thread.sleep(50);
+    }
+  }
+
+  private static String person(final String pin) {
+    return """
+        {"name": "John", "surname": "Smith", "pin": "%s", "sex": "MALE"}
+        """
+        .formatted(pin);
+  }
+}
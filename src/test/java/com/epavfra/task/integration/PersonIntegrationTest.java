@@ -1,28 +1,39 @@
 package com.epavfra.task.integration;
 
+import static org.assertj.core.api.Assertions.entry;
 import static org.assertj.core.api.AssertionsForInterfaceTypes.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
+import com.epavfra.task.dto.PersonAggregatesDto;
 import com.epavfra.task.dto.PersonDto;
+import com.epavfra.task.dto.PersonPageDto;
 import com.epavfra.task.model.Person;
 import com.epavfra.task.model.Sex;
 import com.epavfra.task.repository.PersonRepository;
 import com.epavfra.task.utils.constants.ApiPaths;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.Collection;
 import java.util.List;
 import java.util.Objects;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.annotation.DirtiesContext;
 import org.springframework.test.context.ActiveProfiles;
@@ -107,6 +118,168 @@ public class PersonIntegrationTest {
     assertThat(allNamesAreJohn).isTrue();
   }
 
+  @Test
+  void testFilterByNamePrefix() throws Exception {
+    addThreePersonsToDatabase();
+    MvcResult mvcResult =
+        mockMvc
+            .perform(get(ApiPaths.PERSONS_PATH + "?name=mich&match=PREFIX"))
+            .andExpect(status().isOk())
+            .andReturn();
+    List<PersonDto> persons =
+        objectMapper.readValue(
+            mvcResult.getResponse().getContentAsString(), new TypeReference<>() {});
+    assertThat(persons).extracting(PersonDto::getName).containsExactly("Michael");
+
+    mvcResult =
+        mockMvc
+            .perform(get(ApiPaths.PERSONS_PATH + "?name=ichael&match=PREFIX"))
+            .andExpect(status().isOk())
+            .andReturn();
+    persons =
+        objectMapper.readValue(
+            mvcResult.getResponse().getContentAsString(), new TypeReference<>() {});
+    assertThat(persons).isEmpty();
+  }
+
+  @Test
+  void testFilterTreatsLikeWildcardsLiterally() throws Exception {
+    addThreePersonsToDatabase();
+    MvcResult mvcResult =
+        mockMvc
+            .perform(get(ApiPaths.PERSONS_PATH).param("name", "%"))
+            .andExpect(status().isOk())
+            .andReturn();
+    List<PersonDto> persons =
+        objectMapper.readValue(
+            mvcResult.getResponse().getContentAsString(), new TypeReference<>() {});
+    assertThat(persons).isEmpty();
+  }
+
+  @Test
+  void testKeysetPagination() throws Exception {
+    addThreePersonsToDatabase();
+    MvcResult firstResult =
+        mockMvc
+            .perform(get(ApiPaths.PERSONS_PAGE_PATH + "?limit=2"))
+            .andExpect(status().isOk())
+            .andReturn();
+    PersonPageDto firstPage =
+        objectMapper.readValue(firstResult.getResponse().getContentAsString(), PersonPageDto.class);
+    assertThat(firstPage.getItems()).hasSize(2);
+    assertThat(firstPage.getNext()).isNotNull();
+
+    MvcResult secondResult =
+        mockMvc
+            .perform(get(ApiPaths.PERSONS_PAGE_PATH + "?limit=2&next=" + firstPage.getNext()))
+            .andExpect(status().isOk())
+            .andReturn();
+    PersonPageDto secondPage =
+        objectMapper.readValue(
+            secondResult.getResponse().getContentAsString(), PersonPageDto.class);
+    assertThat(secondPage.getItems()).hasSize(1);
+    assertThat(secondPage.getNext()).isNull();
+
+    List<String> pins =
+        Stream.concat(firstPage.getItems().stream(), secondPage.getItems().stream())
+            .map(PersonDto::getPin)
+            .toList();
+    assertThat(pins).doesNotHaveDuplicates().hasSize(3);
+  }
+
+  @Test
+  void testKeysetPaginationRejectsInvalidCursor() throws Exception {
+    mockMvc
+        .perform(get(ApiPaths.PERSONS_PAGE_PATH + "?next=not-a-cursor"))
+        .andExpect(status().isBadRequest());
+  }
+
+  @Test
+  void testExportPersonsAsNdjson() throws Exception {
+    addThreePersonsToDatabase();
+    MvcResult asyncResult =
+        mockMvc
+            .perform(get(ApiPaths.EXPORT_PERSONS_PATH))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+    MvcResult mvcResult =
+        mockMvc
+            .perform(asyncDispatch(asyncResult))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+            .andReturn();
+    List<String> lines = mvcResult.getResponse().getContentAsString().lines().toList();
+    assertThat(lines).hasSize(3);
+    for (String line : lines) {
+      assertThat(objectMapper.readValue(line, PersonDto.class).getPin()).isNotBlank();
+    }
+  }
+
+  @Test
+  void testExportPersonsWithGzip() throws Exception {
+    addThreePersonsToDatabase();
+    MvcResult asyncResult =
+        mockMvc
+            .perform(get(ApiPaths.EXPORT_PERSONS_PATH).header(HttpHeaders.ACCEPT_ENCODING, "gzip"))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+    MvcResult mvcResult =
+        mockMvc
+            .perform(asyncDispatch(asyncResult))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+            .andReturn();
+    try (GZIPInputStream gzip =
+        new GZIPInputStream(
+            new ByteArrayInputStream(mvcResult.getResponse().getContentAsByteArray()))) {
+      String body = new String(gzip.readAllBytes(), StandardCharsets.UTF_8);
+      assertThat(body.lines().toList()).hasSize(3);
+    }
+  }
+
+  @Test
+  void testAggregatesGroupInDatabase() throws Exception {
+    addThreePersonsToDatabase();
+    PersonAggregatesDto aggregates = aggregates(ApiPaths.PERSONS_AGGREGATES_PATH);
+    assertThat(aggregates.getTotal()).isEqualTo(3);
+    assertThat(aggregates.isEstimated()).isFalse();
+    assertThat(aggregates.getBySex()).containsOnly(entry(Sex.MALE, 2L), entry(Sex.FEMALE, 1L));
+    assertThat(aggregates.getBySurnamePrefix()).containsOnly(entry("S", 2L), entry("M", 1L));
+    assertThat(aggregates.getByContactCount()).containsOnly(entry(2, 3L));
+
+    PersonAggregatesDto males =
+        aggregates(ApiPaths.PERSONS_AGGREGATES_PATH + "?sex=male&prefixLength=2&estimate=true");
+    assertThat(males.getTotal()).isEqualTo(2);
+    assertThat(males.isEstimated()).isFalse();
+    assertThat(males.getBySurnamePrefix()).containsOnly(entry("SM", 1L), entry("MI", 1L));
+  }
+
+  @Test
+  void testAggregatesCountContactsOfEachCollection() throws Exception {
+    personRepository.save(new Person.Builder("Ana", "Kovač", "11111111111", Sex.FEMALE).build());
+    personRepository.save(
+        new Person.Builder("Ivo", "Kovač", "22222222222", Sex.MALE)
+            .addEmailAddresses(List.of("ivo@example.com", "ivo.kovac@example.com"))
+            .build());
+    personRepository.save(
+        new Person.Builder("Eva", "Babić", "33333333333", Sex.FEMALE)
+            .addEmailAddresses(List.of("eva@example.com"))
+            .addPhoneNumbers(List.of("+385-1234567", "+385-7654321"))
+            .build());
+
+    assertThat(aggregates(ApiPaths.PERSONS_AGGREGATES_PATH).getByContactCount())
+        .containsOnly(entry(0, 1L), entry(2, 1L), entry(3, 1L));
+    assertThat(aggregates(ApiPaths.PERSONS_AGGREGATES_PATH + "?sex=female").getByContactCount())
+        .containsOnly(entry(0, 1L), entry(3, 1L));
+  }
+
+  @Test
+  void testAggregatesRejectInvalidPrefixLength() throws Exception {
+    mockMvc
+        .perform(get(ApiPaths.PERSONS_AGGREGATES_PATH + "?prefixLength=0"))
+        .andExpect(status().isBadRequest());
+  }
+
   @Test
   void testDeletePerson() throws Exception {
     addPersonToDatabase();
@@ -120,6 +293,17 @@ public class PersonIntegrationTest {
     assertThat(personRepository.findAll().size()).isEqualTo(0);
   }
 
+  private PersonAggregatesDto aggregates(final String url) throws Exception {
+    String json =
+        mockMvc
+            .perform(get(url))
+            .andExpect(status().isOk())
+            .andReturn()
+            .getResponse()
+            .getContentAsString();
+    return objectMapper.readValue(json, PersonAggregatesDto.class);
+  }
+
   private void addPersonToDatabase() throws Exception {
     String personJson =
         """
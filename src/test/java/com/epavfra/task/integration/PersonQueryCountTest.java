@@ -0,0 +1,150 @@
+package com.epavfra.task.integration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.epavfra.task.dto.AdditionalEmailRequestDto;
+import com.epavfra.task.dto.AdditionalPhoneNumberDto;
+import com.epavfra.task.dto.PersonDto;
+import com.epavfra.task.model.Person;
+import com.epavfra.task.model.Sex;
+import com.epavfra.task.repository.PersonRepository;
+import com.epavfra.task.service.PersonService;
+import com.epavfra.task.utils.specification.ContactMatchMode;
+import com.epavfra.task.utils.specification.MatchMode;
+import jakarta.persistence.EntityManagerFactory;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.IntStream;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@DirtiesContext(classMode = DirtiesContext.ClassMode.BEFORE_EACH_TEST_METHOD)
+public class PersonQueryCountTest {
+
+  @Autowired private PersonService personService;
+  @Autowired private PersonRepository personRepository;
+  @Autowired private EntityManagerFactory entityManagerFactory;
+
+  private Statistics statistics;
+
+  @BeforeEach
+  public void setUp() {
+    personRepository.deleteAll();
+    statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+  }
+
+  @Test
+  void filterPersonsStatementCountDoesNotGrowWithResultSize() {
+    savePersons(0, 5);
+    long smallResultStatements =
+        countStatements(() -> personService.filterPersons(null, null, null, MatchMode.CONTAINS));
+    savePersons(5, 100);
+    long largeResultStatements =
+        countStatements(() -> personService.filterPersons(null, null, null, MatchMode.CONTAINS));
+    assertThat(largeResultStatements).isEqualTo(smallResultStatements);
+  }
+
+  @Test
+  void getAllPersonsStatementCountDoesNotGrowWithResultSize() {
+    savePersons(0, 5);
+    long smallResultStatements = countStatements(() -> personService.getAllPersons());
+    savePersons(5, 100);
+    long largeResultStatements = countStatements(() -> personService.getAllPersons());
+    assertThat(largeResultStatements).isEqualTo(smallResultStatements);
+  }
+
+  @Test
+  void exportStatementCountDoesNotGrowWithResultSize() {
+    savePersons(0, 5);
+    long smallResultStatements = countStatements(() -> personService.forEachPerson(person -> {}));
+    savePersons(5, 100);
+    long largeResultStatements = countStatements(() -> personService.forEachPerson(person -> {}));
+    assertThat(largeResultStatements).isEqualTo(smallResultStatements);
+  }
+
+  @Test
+  void readPathsProjectWithoutMaterializingEntities() {
+    savePersons(0, 20);
+    Long id = personRepository.findAll().get(0).getId();
+    statistics.clear();
+
+    personService.filterPersons(null, null, "MALE", MatchMode.CONTAINS);
+    personService.filterPersonsPage(null, null, null, MatchMode.CONTAINS, null, 10);
+    PersonDto person = personService.getPersonById(id);
+
+    assertThat(statistics.getEntityLoadCount()).isZero();
+    assertThat(statistics.getCollectionLoadCount()).isZero();
+    assertThat(person.getEmailAddresses()).containsExactly("person0@example.com");
+    assertThat(person.getPhoneNumbers()).containsExactlyInAnyOrder("+385-1000000", "+386-1000000");
+  }
+
+  @Test
+  void contactLookupsRunAsOneStatementPerTable() {
+    savePersons(0, 100);
+    long exactStatements =
+        countStatements(
+            () ->
+                personService.findByEmailAddress(
+                    "person7@example.com", ContactMatchMode.EXACT, 50));
+    long prefixStatements =
+        countStatements(
+            () -> personService.findByPhoneNumber("+385-", ContactMatchMode.PREFIX, 50));
+
+    // Persons, email addresses and phone numbers, each selected once.
+    assertThat(exactStatements).isEqualTo(3);
+    assertThat(prefixStatements).isEqualTo(3);
+    assertThat(statistics.getEntityLoadCount()).isZero();
+    assertThat(statistics.getCollectionFetchCount()).isZero();
+  }
+
+  @Test
+  void contactAppendsToACachedPersonDoNotReloadIt() {
+    savePersons(0, 1);
+    Long id = personRepository.findAll().get(0).getId();
+    personService.getPersonById(id);
+    statistics.clear();
+
+    personService.addEmailAddresses(
+        id, new AdditionalEmailRequestDto(Set.of("person0@example.com", "second@example.com")));
+    PersonDto person =
+        personService.addPhoneNumbers(
+            id, new AdditionalPhoneNumberDto(List.of("+385-1000000", "+387-1000000")));
+
+    assertThat(statistics.getEntityLoadCount()).isZero();
+    assertThat(statistics.getCollectionLoadCount()).isZero();
+    assertThat(person.getEmailAddresses())
+        .containsExactlyInAnyOrder("person0@example.com", "second@example.com");
+    assertThat(person.getPhoneNumbers())
+        .containsExactlyInAnyOrder("+385-1000000", "+386-1000000", "+387-1000000");
+    assertThat(personService.getPersonById(id)).isEqualTo(person);
+    assertThat(personRepository.findById(id).orElseThrow().getVersion()).isEqualTo(2);
+  }
+
+  private long countStatements(final Runnable action) {
+    statistics.clear();
+    action.run();
+    return statistics.getPrepareStatementCount();
+  }
+
+  private void savePersons(final int from, final int to) {
+    List<Person> persons =
+        IntStream.range(from, to)
+            .mapToObj(
+                i ->
+                    new Person.Builder(
+                            "Name" + i, "Surname" + i, String.format("%011d", i), Sex.MALE)
+                        .addEmailAddresses(Set.of("person" + i + "@example.com"))
+                        .addPhoneNumbers(Set.of("+385-" + (1000000 + i), "+386-" + (1000000 + i)))
+                        .build())
+            .toList();
+    personRepository.saveAll(persons);
+  }
+}
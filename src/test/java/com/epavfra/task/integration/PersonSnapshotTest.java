@@ -0,0 +1,137 @@
+package com.epavfra.task.integration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.epavfra.task.dto.AdditionalEmailRequestDto;
+import com.epavfra.task.dto.PersonDto;
+import com.epavfra.task.model.Person;
+import com.epavfra.task.model.Sex;
+import com.epavfra.task.repository.PersonProjectionRepository;
+import com.epavfra.task.repository.PersonProjectionRepository.PersonRow;
+import com.epavfra.task.repository.PersonRepository;
+import com.epavfra.task.service.PersonService;
+import com.epavfra.task.snapshot.PersonSnapshot;
+import com.epavfra.task.utils.specification.MatchMode;
+import com.epavfra.task.utils.specification.PersonSpecification;
+import jakarta.persistence.EntityManagerFactory;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.IntStream;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@SpringBootTest(properties = "person.snapshot.enabled=true")
+@ActiveProfiles("test")
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+public class PersonSnapshotTest {
+
+  @Autowired private PersonService personService;
+  @Autowired private PersonSnapshot personSnapshot;
+  @Autowired private PersonRepository personRepository;
+  @Autowired private PersonProjectionRepository personProjectionRepository;
+  @Autowired private PlatformTransactionManager transactionManager;
+  @Autowired private EntityManagerFactory entityManagerFactory;
+
+  private Statistics statistics;
+
+  @BeforeEach
+  public void setUp() {
+    statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+  }
+
+  @Test
+  void writesThroughTheServiceAreServedWithoutQueries() {
+    assertThat(personSnapshot.isReady()).isTrue();
+    PersonDto anna = personService.createPerson(personDto("Anna", "Horvat", "12345678901"));
+    PersonDto ivan = personService.createPerson(personDto("Ivan", "Horvatić", "12345678902"));
+    Long annaId = idOf(anna.getPin());
+    Long ivanId = idOf(ivan.getPin());
+    personService.addEmailAddresses(
+        annaId, new AdditionalEmailRequestDto(Set.of("anna.horvat@example.com")));
+    String tagBeforeDelete =
+        personService.getPersonsVersionTag(null, "horvat", null, MatchMode.PREFIX);
+    personService.deletePerson(ivanId);
+
+    statistics.clear();
+    List<PersonDto> horvats =
+        List.copyOf(personService.filterPersons(null, "horvat", null, MatchMode.PREFIX));
+    String tagAfterDelete =
+        personService.getPersonsVersionTag(null, "horvat", null, MatchMode.PREFIX);
+
+    assertThat(statistics.getPrepareStatementCount()).isZero();
+    assertThat(horvats).extracting(PersonDto::getPin).containsExactly(anna.getPin());
+    assertThat(horvats.get(0).getEmailAddresses())
+        .containsExactlyInAnyOrder("anna@example.com", "anna.horvat@example.com");
+    assertThat(tagAfterDelete).isNotEqualTo(tagBeforeDelete);
+  }
+
+  @Test
+  void loadedSnapshotMatchesTheDatabase() {
+    personRepository.saveAll(
+        IntStream.range(0, 60)
+            .mapToObj(
+                i ->
+                    new Person.Builder(
+                            (i % 3 == 0 ? "Ana" : "Marko") + i,
+                            (i % 2 == 0 ? "Kovač" : "Babić") + i,
+                            String.format("%011d", i),
+                            i % 4 == 0 ? Sex.FEMALE : Sex.MALE)
+                        .addEmailAddresses(Set.of("person" + i + "@example.com"))
+                        .addPhoneNumbers(Set.of("+385-" + (1000000 + i)))
+                        .build())
+            .toList());
+    personSnapshot.load();
+
+    assertSameAsDatabase(null, null, null, MatchMode.CONTAINS);
+    assertSameAsDatabase("ana", null, null, MatchMode.PREFIX);
+    assertSameAsDatabase(null, "1", "MALE", MatchMode.CONTAINS);
+    assertSameAsDatabase("MARKO", "kovač", "MALE", MatchMode.PREFIX);
+    assertSameAsDatabase(null, null, "FEMALE", MatchMode.CONTAINS);
+    assertSameAsDatabase("nobody", null, null, MatchMode.CONTAINS);
+  }
+
+  private Long idOf(final String pin) {
+    return personRepository.findAll().stream()
+        .filter(person -> person.getPin().equals(pin))
+        .findFirst()
+        .orElseThrow()
+        .getId();
+  }
+
+  private void assertSameAsDatabase(
+      final String name, final String surname, final String sex, final MatchMode matchMode) {
+    TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+    readOnly.setReadOnly(true);
+    List<PersonDto> expected =
+        readOnly.execute(
+            status ->
+                personProjectionRepository
+                    .findAll(
+                        PersonSpecification.filterByCriteria(name, surname, sex, matchMode), null)
+                    .stream()
+                    .map(PersonRow::person)
+                    .toList());
+    List<PersonDto> actual =
+        personSnapshot.filter(name, surname, PersonSpecification.parseSex(sex), matchMode);
+    assertThat(actual).isEqualTo(expected);
+  }
+
+  private static PersonDto personDto(final String name, final String surname, final String pin) {
+    PersonDto personDto = new PersonDto();
+    personDto.setName(name);
+    personDto.setSurname(surname);
+    personDto.setPin(pin);
+    personDto.setSex(Sex.FEMALE);
+    personDto.setEmailAddresses(Set.of(name.toLowerCase() + "@example.com"));
+    personDto.setPhoneNumbers(Set.of("+385-1234567"));
+    return personDto;
+  }
+}
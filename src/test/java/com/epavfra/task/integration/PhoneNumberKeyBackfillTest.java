@@ -0,0 +1,71 @@
+package com.epavfra.task.integration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.epavfra.task.migration.PhoneNumberKeyBackfill;
+import com.epavfra.task.model.Person;
+import com.epavfra.task.model.Sex;
+import com.epavfra.task.repository.PersonRepository;
+import java.sql.Connection;
+import java.util.HashMap;
+import java.util.Map;
+import javax.sql.DataSource;
+import org.flywaydb.core.api.configuration.Configuration;
+import org.flywaydb.core.api.migration.Context;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+public class PhoneNumberKeyBackfillTest {
+
+  @Autowired private PersonRepository personRepository;
+  @Autowired private JdbcTemplate jdbcTemplate;
+  @Autowired private DataSource dataSource;
+  @Autowired private PhoneNumberKeyBackfill backfill;
+
+  @Test
+  void backfillNormalizesRowsWrittenBeforeKeysExisted() throws Exception {
+    Long id =
+        personRepository
+            .save(new Person.Builder("Ann", "Smith", "11111111111", Sex.FEMALE).build())
+            .getId();
+    for (String number : new String[] {"+385-1234567", "386-123 4567", "not a number"}) {
+      jdbcTemplate.update(
+          "INSERT INTO \"person_phone-numbers\" (person_id, phone_number) VALUES (?, ?)",
+          id,
+          number);
+    }
+
+    try (Connection connection = dataSource.getConnection()) {
+      backfill.migrate(
+          new Context() {
+            @Override
+            public Configuration getConfiguration() {
+              return null;
+            }
+
+            @Override
+            public Connection getConnection() {
+              return connection;
+            }
+          });
+    }
+
+    Map<String, String> rows = new HashMap<>();
+    jdbcTemplate.query(
+        "SELECT phone_number, phone_number_e164, phone_number_key FROM \"person_phone-numbers\"",
+        resultSet -> {
+          rows.put(resultSet.getString(1), resultSet.getString(2) + "/" + resultSet.getObject(3));
+        });
+    assertThat(rows)
+        .containsEntry("+385-1234567", "+3851234567/3851234567")
+        .containsEntry("386-123 4567", "+3861234567/3861234567")
+        .containsEntry("not a number", "null/null");
+  }
+}
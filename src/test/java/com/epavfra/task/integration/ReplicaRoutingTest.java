@@ -0,0 +1,130 @@
+package com.epavfra.task.integration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.epavfra.task.datasource.ReadYourWritesFilter;
+import com.epavfra.task.datasource.ReplicaLagMonitor;
+import com.epavfra.task.model.Person;
+import com.epavfra.task.model.Sex;
+import com.epavfra.task.repository.PersonRepository;
+import com.epavfra.task.utils.constants.ApiPaths;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.Cookie;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.Statement;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+/**
+ * Two in-memory H2 databases stand in for the primary and a replica. The replica gets the
+ * primary's schema but no data, so which database answered is visible in the response.
+ */
+@SpringBootTest(
+    properties = {
+      "person.datasource.replica-urls=" + ReplicaRoutingTest.REPLICA_URL,
+      "person.datasource.replica-lag-query=select seconds from replica_lag",
+      "person.datasource.replica-lag-check-interval=PT1H"
+    })
+@ActiveProfiles("test")
+@AutoConfigureMockMvc
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+public class ReplicaRoutingTest {
+
+  static final String REPLICA_URL = "jdbc:h2:mem:replica;MODE=PostgreSQL;DB_CLOSE_DELAY=-1";
+
+  @Autowired private MockMvc mockMvc;
+  @Autowired private PersonRepository personRepository;
+  @Autowired private HikariDataSource primaryDataSource;
+  @Autowired private ReplicaLagMonitor replicaLagMonitor;
+  @Autowired private MeterRegistry meterRegistry;
+
+  @BeforeEach
+  public void setUp() throws Exception {
+    personRepository.deleteAll();
+    List<String> schema =
+        new JdbcTemplate(primaryDataSource).queryForList("script nodata", String.class);
+    try (Connection replica = DriverManager.getConnection(REPLICA_URL, "sa", "");
+        Statement statement = replica.createStatement()) {
+      statement.execute("drop all objects");
+      for (String ddl : schema) {
+        statement.execute(ddl);
+      }
+      statement.execute("create table replica_lag (seconds double)");
+      statement.execute("insert into replica_lag values (0)");
+    }
+    replicaLagMonitor.refresh();
+  }
+
+  @Test
+  void readsGoToTheReplica() throws Exception {
+    personRepository.save(person("12345678901"));
+    double replicaReads = replicaReads();
+
+    mockMvc.perform(get(ApiPaths.PERSONS_PATH)).andExpect(jsonPath("$.length()").value(0));
+
+    assertThat(replicaReads()).isGreaterThan(replicaReads);
+  }
+
+  @Test
+  void clientReadsItsOwnWriteFromThePrimary() throws Exception {
+    Cookie cookie =
+        mockMvc
+            .perform(
+                post(ApiPaths.PERSONS_PATH)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(
+                        """
+                        {"name": "John", "surname": "Smith", "pin": "12345678901", "sex": "MALE"}
+                        """))
+            .andExpect(status().isCreated())
+            .andReturn()
+            .getResponse()
+            .getCookie(ReadYourWritesFilter.COOKIE_NAME);
+    assertThat(cookie).isNotNull();
+
+    mockMvc
+        .perform(get(ApiPaths.PERSONS_PATH).cookie(cookie))
+        .andExpect(jsonPath("$.length()").value(1));
+    mockMvc.perform(get(ApiPaths.PERSONS_PATH)).andExpect(jsonPath("$.length()").value(0));
+  }
+
+  @Test
+  void laggingReplicaFallsBackToThePrimary() throws Exception {
+    personRepository.save(person("12345678901"));
+    try (Connection replica = DriverManager.getConnection(REPLICA_URL, "sa", "");
+        Statement statement = replica.createStatement()) {
+      statement.execute("update replica_lag set seconds = 60");
+    }
+    replicaLagMonitor.refresh();
+
+    mockMvc.perform(get(ApiPaths.PERSONS_PATH)).andExpect(jsonPath("$.length()").value(1));
+  }
+
+  private double replicaReads() {
+    return meterRegistry.counter("person.datasource.reads", "target", "replica").count();
+  }
+
+  private static Person person(final String pin) {
+    Person person = new Person();
+    person.setName("John");
+    person.setSurname("Smith");
+    person.setPin(pin);
+    person.setSex(Sex.MALE);
+    return person;
+  }
+}
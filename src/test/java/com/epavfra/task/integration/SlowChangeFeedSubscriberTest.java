@@ -0,0 +1,95 @@
+package com.epavfra.task.integration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+import com.epavfra.task.events.PersonChangeEvent;
+import com.epavfra.task.events.PersonChangeFeed;
+import com.epavfra.task.utils.constants.ApiPaths;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.function.DoublePredicate;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+/** A change feed client that stops reading must not hold up the feed for anyone else. */
+@SpringBootTest(
+    webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+    properties = "person.events.replay-size=100")
+@ActiveProfiles("test")
+@AutoConfigureMockMvc
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+public class SlowChangeFeedSubscriberTest {
+
+  private static final String LARGE_PIN = "1".repeat(10_000);
+
+  @LocalServerPort private int port;
+  @Autowired private MockMvc mockMvc;
+  @Autowired private PersonChangeFeed personChangeFeed;
+  @Autowired private MeterRegistry meterRegistry;
+
+  @Test
+  void subscriberThatStopsReadingIsDroppedWithoutStallingTheFeed() throws Exception {
+    try (Socket stalled = new Socket()) {
+      stalled.setReceiveBufferSize(4096);
+      stalled.connect(new InetSocketAddress("localhost", port));
+      OutputStream request = stalled.getOutputStream();
+      request.write(
+          ("GET " + ApiPaths.PERSON_EVENTS_PATH + " HTTP/1.1\r\nHost: localhost\r\n"
+                  + "Accept: text/event-stream\r\n\r\n")
+              .getBytes(StandardCharsets.US_ASCII));
+      request.flush();
+      assertThat(awaitSubscribers(count -> count == 1)).isEqualTo(1);
+
+      // Far more than the socket buffers and the subscriber's queue can hold.
+      for (long id = 1; id <= 3000; id++) {
+        personChangeFeed.publishAfterCommit(PersonChangeEvent.deleted(id, 0, LARGE_PIN));
+      }
+      assertThat(awaitSubscribers(count -> count == 0)).isZero();
+
+      MockHttpServletResponse stream =
+          mockMvc
+              .perform(get(ApiPaths.PERSON_EVENTS_PATH).accept(MediaType.TEXT_EVENT_STREAM))
+              .andExpect(request().asyncStarted())
+              .andReturn()
+              .getResponse();
+      assertThat(awaitSubscribers(count -> count == 1)).isEqualTo(1);
+      personChangeFeed.publishAfterCommit(PersonChangeEvent.deleted(3001L, 0, "12345678901"));
+
+      assertThat(awaitContent(stream, "id:3001\n")).contains("12345678901");
+    }
+  }
+
+  private double awaitSubscribers(final DoublePredicate condition) throws InterruptedException {
+    long deadline = System.currentTimeMillis() + 10_000;
+    double count = meterRegistry.get("person.events.subscribers").gauge().value();
+    while (!condition.test(count) && System.currentTimeMillis() < deadline) {
+      Thread.sleep(20);
+      count = meterRegistry.get("person.events.subscribers").gauge().value();
+    }
+    return count;
+  }
+
+  private static String awaitContent(final MockHttpServletResponse response, final String text)
+      throws Exception {
+    long deadline = System.currentTimeMillis() + 5_000;
+    String content = response.getContentAsString();
+    while (!content.contains(text) && System.currentTimeMillis() < deadline) {
+      Thread.sleep(20);
+      content = response.getContentAsString();
+    }
+    return content;
+  }
+}
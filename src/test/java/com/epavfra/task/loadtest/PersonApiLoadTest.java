@@ -0,0 +1,376 @@
+package com.epavfra.task.loadtest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.epavfra.task.model.Person;
+import com.epavfra.task.model.Sex;
+import com.epavfra.task.repository.PersonRepository;
+import com.epavfra.task.utils.constants.ApiPaths;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Random;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+
+/**
+ * Drives a weighted mix of the person endpoints from {@link #CONCURRENCY} clients and fails when
+ * latency percentiles or throughput regress past the baseline by more than {@link #TOLERANCE}.
+ * Run with {@code mvn test -Ploadtest}; pass {@code -Dloadtest.updateBaseline=true} to record the
+ * current results as the new baseline.
+ *
+ * <p>The baseline also records the run parameters and the number of processors, and is only
+ * compared against a run with the same ones. Timings do not carry over between machines, so a CI
+ * job should record the baseline of the target branch and check the change against it on the same
+ * runner, with {@code -Dloadtest.baseline} pointing both runs at a file outside {@code target}.
+ */
+@Tag("loadtest")
+@SpringBootTest(
+    webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+    properties = "spring.jpa.show-sql=false")
+@ActiveProfiles("test")
+class PersonApiLoadTest {
+
+  private static final int CONCURRENCY = Integer.getInteger("loadtest.concurrency", 16);
+  private static final int REQUESTS = Integer.getInteger("loadtest.requests", 10_000);
+  private static final int SEED_PERSONS = Integer.getInteger("loadtest.seedPersons", 1_000);
+  private static final double TOLERANCE =
+      Double.parseDouble(System.getProperty("loadtest.tolerance", "1.5"));
+  private static final boolean UPDATE_BASELINE = Boolean.getBoolean("loadtest.updateBaseline");
+  private static final long RANDOM_SEED = 42;
+
+  private static final Path BASELINE =
+      Path.of(
+          System.getProperty(
+              "loadtest.baseline",
+              Path.of("src", "test", "resources", "loadtest", "baseline.properties").toString()));
+  /** Keys that must match between the baseline and the current run for timings to compare. */
+  private static final List<String> RUN_PARAMETERS =
+      List.of("concurrency", "requests", "seedPersons", "processors");
+  private static final Path REPORT = Path.of("target", "loadtest", "report.txt");
+
+  /** Request mix, weighted roughly like an address book's traffic: mostly reads. */
+  private enum Operation {
+    FILTER(30),
+    GET_BY_ID(40),
+    CREATE(10),
+    APPEND_CONTACTS(15),
+    DELETE(5);
+
+    private final int weight;
+
+    Operation(final int weight) {
+      this.weight = weight;
+    }
+  }
+
+  @LocalServerPort private int port;
+  @Autowired private PersonRepository personRepository;
+
+  private final HttpClient client =
+      HttpClient.newBuilder()
+          .version(HttpClient.Version.HTTP_1_1)
+          .connectTimeout(Duration.ofSeconds(10))
+          .build();
+  private final AtomicLong nextPin = new AtomicLong(90_000_000_000L);
+  private final ConcurrentLinkedQueue<Long> deletableIds = new ConcurrentLinkedQueue<>();
+  private List<Long> stableIds;
+
+  @Test
+  void endpointMixStaysWithinBaseline() throws Exception {
+    seed();
+    List<Operation> plan = plan();
+    Map<Operation, Latencies> latencies = new EnumMap<>(Operation.class);
+    for (Operation operation : Operation.values()) {
+      latencies.put(operation, new Latencies(REQUESTS));
+    }
+    Latencies overall = new Latencies(REQUESTS);
+    AtomicInteger failures = new AtomicInteger();
+    AtomicInteger next = new AtomicInteger();
+
+    long start = System.nanoTime();
+    try (ExecutorService clients = Executors.newFixedThreadPool(CONCURRENCY)) {
+      List<Future<?>> workers = new ArrayList<>(CONCURRENCY);
+      for (int worker = 0; worker < CONCURRENCY; worker++) {
+        Random random = new Random(RANDOM_SEED + worker);
+        workers.add(
+            clients.submit(
+                () -> {
+                  for (int i = next.getAndIncrement(); i < REQUESTS; i = next.getAndIncrement()) {
+                    Operation operation = plan.get(i);
+                    long requestStart = System.nanoTime();
+                    boolean ok = execute(operation, random);
+                    long elapsed = System.nanoTime() - requestStart;
+                    latencies.get(operation).record(elapsed);
+                    overall.record(elapsed);
+                    if (!ok) {
+                      failures.incrementAndGet();
+                    }
+                  }
+                  return null;
+                }));
+      }
+      for (Future<?> worker : workers) {
+        worker.get();
+      }
+    }
+    double seconds = (System.nanoTime() - start) / 1e9;
+
+    Properties current = new Properties();
+    current.setProperty("concurrency", String.valueOf(CONCURRENCY));
+    current.setProperty("requests", String.valueOf(REQUESTS));
+    current.setProperty("seedPersons", String.valueOf(SEED_PERSONS));
+    current.setProperty(
+        "processors", String.valueOf(Runtime.getRuntime().availableProcessors()));
+    current.setProperty("p50.ms", format(overall.percentileMillis(50)));
+    current.setProperty("p95.ms", format(overall.percentileMillis(95)));
+    current.setProperty("p99.ms", format(overall.percentileMillis(99)));
+    current.setProperty("throughput.rps", format(REQUESTS / seconds));
+    report(current, latencies, failures.get(), seconds);
+
+    assertThat(failures.get()).as("failed requests").isZero();
+    if (UPDATE_BASELINE) {
+      Files.createDirectories(BASELINE.toAbsolutePath().getParent());
+      try (OutputStream out = Files.newOutputStream(BASELINE)) {
+        current.store(out, "PersonApiLoadTest baseline");
+      }
+      return;
+    }
+    Properties baseline = loadBaseline();
+    for (String parameter : RUN_PARAMETERS) {
+      assertThat(current.getProperty(parameter))
+          .as(
+              "baseline %s was recorded with %s=%s; re-record it with"
+                  + " -Dloadtest.updateBaseline=true",
+              BASELINE,
+              parameter,
+              baseline.getProperty(parameter))
+          .isEqualTo(baseline.getProperty(parameter));
+    }
+    for (String percentile : List.of("p50.ms", "p95.ms", "p99.ms")) {
+      assertThat(value(current, percentile))
+          .as("%s regressed past baseline %s x %s", percentile, value(baseline, percentile), TOLERANCE)
+          .isLessThanOrEqualTo(value(baseline, percentile) * TOLERANCE);
+    }
+    assertThat(value(current, "throughput.rps"))
+        .as("throughput regressed past baseline %s / %s", value(baseline, "throughput.rps"), TOLERANCE)
+        .isGreaterThanOrEqualTo(value(baseline, "throughput.rps") / TOLERANCE);
+  }
+
+  private void seed() {
+    personRepository.deleteAll();
+    List<Person> persons = new ArrayList<>(SEED_PERSONS);
+    for (int i = 0; i < SEED_PERSONS; i++) {
+      persons.add(
+          new Person.Builder(
+                  "Name" + i,
+                  "Surname" + (i % 100),
+                  String.valueOf(10_000_000_000L + i),
+                  i % 2 == 0 ? Sex.MALE : Sex.FEMALE)
+              .addEmailAddresses(List.of("person" + i + "@example.com"))
+              .addPhoneNumbers(List.of(String.format("+385-%09d", i)))
+              .build());
+    }
+    List<Long> ids = personRepository.saveAll(persons).stream().map(Person::getId).toList();
+    int deletable = REQUESTS * Operation.DELETE.weight / totalWeight() + CONCURRENCY;
+    deletableIds.addAll(ids.subList(0, Math.min(deletable, ids.size() / 2)));
+    stableIds = ids.subList(Math.min(deletable, ids.size() / 2), ids.size());
+  }
+
+  /** Fixed, seeded sequence of operations so every run issues the same mix in the same order. */
+  private static List<Operation> plan() {
+    Random random = new Random(RANDOM_SEED);
+    int totalWeight = totalWeight();
+    List<Operation> plan = new ArrayList<>(REQUESTS);
+    for (int i = 0; i < REQUESTS; i++) {
+      int pick = random.nextInt(totalWeight);
+      for (Operation operation : Operation.values()) {
+        pick -= operation.weight;
+        if (pick < 0) {
+          plan.add(operation);
+          break;
+        }
+      }
+    }
+    return plan;
+  }
+
+  private boolean execute(final Operation operation, final Random random) {
+    Long id = stableIds.get(random.nextInt(stableIds.size()));
+    return switch (operation) {
+      case FILTER ->
+          send(get("?surname=Surname" + random.nextInt(100) + "&sex=MALE"), 200);
+      case GET_BY_ID -> send(get(String.valueOf(id)), 200);
+      case CREATE ->
+          send(
+              post(
+                  "",
+                  String.format(
+                      "{\"name\":\"Load\",\"surname\":\"Test\",\"pin\":\"%d\",\"sex\":\"FEMALE\"}",
+                      nextPin.getAndIncrement())),
+              201);
+      case APPEND_CONTACTS ->
+          random.nextBoolean()
+              ? send(
+                  post(
+                      id + "/addresses",
+                      String.format(
+                          "{\"emailAddresses\":[\"load%d@example.com\"]}", random.nextInt())),
+                  201)
+              : send(
+                  post(
+                      id + "/phone-numbers",
+                      String.format(
+                          "{\"phoneNumbers\":[\"+385-%09d\"]}", random.nextInt(1_000_000_000))),
+                  201);
+      case DELETE -> {
+        Long deletableId = deletableIds.poll();
+        yield deletableId == null
+            ? send(get(String.valueOf(id)), 200)
+            : send(request(String.valueOf(deletableId)).DELETE().build(), 204);
+      }
+    };
+  }
+
+  private boolean send(final HttpRequest request, final int expectedStatus) {
+    try {
+      HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+      return response.statusCode() == expectedStatus;
+    } catch (IOException e) {
+      return false;
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return false;
+    }
+  }
+
+  private HttpRequest get(final String path) {
+    return request(path).GET().build();
+  }
+
+  private HttpRequest post(final String path, final String json) {
+    return request(path)
+        .header("Content-Type", "application/json")
+        .POST(HttpRequest.BodyPublishers.ofString(json))
+        .build();
+  }
+
+  private HttpRequest.Builder request(final String path) {
+    return HttpRequest.newBuilder(
+            URI.create("http://localhost:" + port + ApiPaths.PERSONS_PATH + path))
+        .timeout(Duration.ofSeconds(30));
+  }
+
+  private void report(
+      final Properties current,
+      final Map<Operation, Latencies> latencies,
+      final int failures,
+      final double seconds)
+      throws IOException {
+    StringBuilder report =
+        new StringBuilder(
+            String.format(
+                "concurrency=%d requests=%d failures=%d seconds=%.2f throughput=%s req/s"
+                    + " p50=%sms p95=%sms p99=%sms%n",
+                CONCURRENCY,
+                REQUESTS,
+                failures,
+                seconds,
+                current.getProperty("throughput.rps"),
+                current.getProperty("p50.ms"),
+                current.getProperty("p95.ms"),
+                current.getProperty("p99.ms")));
+    latencies.forEach(
+        (operation, operationLatencies) ->
+            report.append(
+                String.format(
+                    "  %-16s count=%6d p50=%sms p95=%sms p99=%sms%n",
+                    operation,
+                    operationLatencies.count(),
+                    format(operationLatencies.percentileMillis(50)),
+                    format(operationLatencies.percentileMillis(95)),
+                    format(operationLatencies.percentileMillis(99)))));
+    System.out.print(report);
+    Files.createDirectories(REPORT.getParent());
+    Files.writeString(REPORT, report);
+  }
+
+  private static Properties loadBaseline() throws IOException {
+    assertThat(BASELINE).as("missing baseline %s", BASELINE).exists();
+    Properties baseline = new Properties();
+    try (InputStream in = Files.newInputStream(BASELINE)) {
+      baseline.load(in);
+    }
+    return baseline;
+  }
+
+  private static double value(final Properties properties, final String key) {
+    return Double.parseDouble(properties.getProperty(key));
+  }
+
+  private static String format(final double value) {
+    return String.format(Locale.ROOT, "%.2f", value);
+  }
+
+  private static int totalWeight() {
+    int totalWeight = 0;
+    for (Operation operation : Operation.values()) {
+      totalWeight += operation.weight;
+    }
+    return totalWeight;
+  }
+
+  /** Lock-free latency sink; percentiles are computed once all requests have completed. */
+  private static final class Latencies {
+
+    private final long[] nanos;
+    private final AtomicInteger size = new AtomicInteger();
+
+    Latencies(final int capacity) {
+      this.nanos = new long[capacity];
+    }
+
+    void record(final long elapsedNanos) {
+      nanos[size.getAndIncrement()] = elapsedNanos;
+    }
+
+    int count() {
+      return size.get();
+    }
+
+    double percentileMillis(final int percentile) {
+      int count = size.get();
+      if (count == 0) {
+        return 0;
+      }
+      long[] sorted = Arrays.copyOf(nanos, count);
+      Arrays.sort(sorted);
+      int index = (int) Math.ceil(percentile / 100.0 * count) - 1;
+      return sorted[Math.max(index, 0)] / 1e6;
+    }
+  }
+}
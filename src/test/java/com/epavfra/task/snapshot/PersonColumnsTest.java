@@ -0,0 +1,55 @@
+package com.epavfra.task.snapshot;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.epavfra.task.dto.PersonDto;
+import com.epavfra.task.model.Sex;
+import com.epavfra.task.utils.specification.MatchMode;
+import java.util.Arrays;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+
+class PersonColumnsTest {
+
+  private final PersonColumns columns = new PersonColumns();
+
+  @Test
+  void testPersonsArrivingOutOfIdOrderAreMatchedInIdOrder() {
+    for (long id : new long[] {50, 10, 30, 20, 60, 40}) {
+      columns.upsert(id, 0, person("Ann" + id, id % 20 == 0 ? Sex.FEMALE : Sex.MALE));
+    }
+    columns.delete(30, 0);
+
+    assertThat(ids(columns, columns.match(null, null, null, MatchMode.CONTAINS)))
+        .containsExactly(10L, 20L, 40L, 50L, 60L);
+    assertThat(ids(columns, columns.match("ann", null, Sex.FEMALE, MatchMode.PREFIX)))
+        .containsExactly(20L, 40L, 60L);
+    PersonColumns compacted = columns.compact();
+    assertThat(ids(compacted, compacted.match(null, null, null, MatchMode.CONTAINS)))
+        .containsExactly(10L, 20L, 40L, 50L, 60L);
+  }
+
+  @Test
+  void testOlderVersionDoesNotReplaceNewerVersion() {
+    columns.upsert(1, 2, person("Johnny", Sex.MALE));
+    columns.upsert(1, 1, person("John", Sex.MALE));
+
+    assertThat(columns.toDto(columns.match(null, null, null, MatchMode.CONTAINS)[0]).getName())
+        .isEqualTo("Johnny");
+  }
+
+  private static long[] ids(final PersonColumns columns, final int[] rows) {
+    return Arrays.stream(rows).mapToLong(columns::id).toArray();
+  }
+
+  private static PersonDto person(final String name, final Sex sex) {
+    PersonDto person = new PersonDto();
+    person.setName(name);
+    person.setSurname("Smith");
+    person.setPin("12345678901");
+    person.setSex(sex);
+    person.setEmailAddresses(Set.of());
+    person.setPhoneNumbers(Set.of());
+    return person;
+  }
+}